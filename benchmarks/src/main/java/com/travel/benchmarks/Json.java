@@ -0,0 +1,15 @@
+package com.travel.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public final class Json {
+
+    private Json() {
+    }
+
+    // Same defaults as the ObjectMapper Spring Boot gives the services (java.time module, ISO dates)
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.travel.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.benchmarks.Json;
+import com.travel.bookingservice.dto.ApiResponse;
+import com.travel.bookingservice.dto.BookingResponseDTO;
+import com.travel.bookingservice.dto.external.FlightAvailabilityDTO;
+import com.travel.bookingservice.dto.external.HotelAvailabilityDTO;
+import com.travel.bookingservice.entity.Booking;
+import com.travel.bookingservice.entity.BookingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service's package to reach the package-private BookingService.mapToResponseDTO
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingResponseBenchmark {
+
+    private static final TypeReference<ApiResponse<FlightAvailabilityDTO>> FLIGHT_AVAILABILITY =
+            new TypeReference<>() {};
+    private static final TypeReference<ApiResponse<HotelAvailabilityDTO>> HOTEL_AVAILABILITY =
+            new TypeReference<>() {};
+
+    private static final long NIGHTS = 3;
+
+    private ObjectMapper objectMapper;
+    private Booking booking;
+    private BookingResponseDTO response;
+    private byte[] flightAvailabilityJson;
+    private byte[] hotelAvailabilityJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Json.objectMapper();
+
+        booking = new Booking();
+        booking.setId(42L);
+        booking.setUserId(7L);
+        booking.setFlightId(1001L);
+        booking.setHotelId(2002L);
+        booking.setTravelDate(LocalDate.of(2025, 6, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 6, 4));
+        booking.setTotalCost(new BigDecimal("618.49"));
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setBookingReference("BK-1A2B3C4D");
+        response = BookingService.mapToResponseDTO(booking, "Booking created successfully. Proceed to payment.");
+
+        // The bodies booking-service receives from the availability checks on every booking
+        flightAvailabilityJson = ("{\"success\":true,\"message\":\"Availability checked\",\"data\":{\"flightId\":1001,"
+                + "\"flightNumber\":\"TB1001\",\"available\":true,\"availableSeats\":42,\"price\":349.99,"
+                + "\"message\":\"Seats available\"}}").getBytes();
+        hotelAvailabilityJson = ("{\"success\":true,\"message\":\"Availability checked\",\"data\":{\"hotelId\":2002,"
+                + "\"hotelName\":\"Seaside Hotel\",\"available\":true,\"availableRooms\":12,\"pricePerNight\":89.50,"
+                + "\"message\":\"Rooms available\"}}").getBytes();
+    }
+
+    @Benchmark
+    public BookingResponseDTO mapToResponseDTO() {
+        return BookingService.mapToResponseDTO(booking, "Booking created successfully. Proceed to payment.");
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ApiResponse<>(true, "Booking created successfully", response));
+    }
+
+    // Steps 2-4 of createBooking without the network: decode both availability answers and price the booking
+    @Benchmark
+    public BigDecimal readAvailabilityAndPrice() throws IOException {
+        FlightAvailabilityDTO flight = objectMapper.readValue(flightAvailabilityJson, FLIGHT_AVAILABILITY).getData();
+        HotelAvailabilityDTO hotel = objectMapper.readValue(hotelAvailabilityJson, HOTEL_AVAILABILITY).getData();
+        return flight.getPrice().add(hotel.getPricePerNight().multiply(BigDecimal.valueOf(NIGHTS)));
+    }
+}
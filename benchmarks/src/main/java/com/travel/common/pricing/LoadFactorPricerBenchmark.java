@@ -0,0 +1,54 @@
+package com.travel.common.pricing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// What load-factor pricing adds to an availability check or a route search leg, with seats moving across buckets
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadFactorPricerBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int TOTAL = 180;
+
+    private LoadFactorPricer pricer;
+    private BigDecimal[] fares;
+    private LocalDate[] dates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pricer = new LoadFactorPricer("0:1.50,0.10:1.30,0.25:1.15,0.50:1.00,0.80:0.90",
+                "0:1.25,3:1.10,14:1.00,60:0.95");
+        fares = new BigDecimal[ITEMS];
+        dates = new LocalDate[ITEMS];
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ITEMS; i++) {
+            fares[i] = BigDecimal.valueOf(10_000 + i, 2);
+            dates[i] = today.plusDays(i % 90);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal loadFactor() {
+        int i = next;
+        next = (next + 1) % ITEMS;
+        return pricer.price(fares[i], i % (TOTAL + 1), TOTAL, dates[i]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.travel.flightservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.common.bulk.BulkRowReader;
+import com.travel.flightservice.dto.FlightDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Rows per second through the CPU side of POST /api/flights/bulk: CSV parsing, binding and validation, no database
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightCsvParseBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder body = new StringBuilder("flightNumber,airline,origin,destination,departureTime,arrivalTime,"
+                + "price,totalSeats,active\n");
+        LocalDateTime departure = LocalDateTime.of(2025, 6, 1, 6, 0);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime leaves = departure.plusMinutes(i * 7L);
+            // Every tenth airline name is quoted with a comma and an escaped quote in it
+            String airline = i % 10 == 0 ? "\"Travel Air, \"\"Express\"\"\"" : "Travel Air";
+            body.append("TB").append(i).append(',').append(airline).append(",JFK,LAX,")
+                    .append(leaves).append(',').append(leaves.plusHours(6)).append(",249.99,180,true\n");
+        }
+        csv = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int parseAndValidate() throws IOException {
+        int valid = 0;
+        try (BulkRowReader<FlightDTO> reader = BulkRowReader.open(new ByteArrayInputStream(csv),
+                BulkRowReader.TEXT_CSV, FlightDTO.class, objectMapper)) {
+            BulkRowReader.Row<FlightDTO> row;
+            while ((row = reader.next()) != null) {
+                if (row.error() == null && validator.validate(row.value()).isEmpty()) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,89 @@
+package com.travel.flightservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.benchmarks.Json;
+import com.travel.flightservice.dto.ApiResponse;
+import com.travel.flightservice.dto.CursorPageDTO;
+import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.entity.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Lives in the service's package to reach the package-private FlightService.mapToDTO
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Flight> flights;
+    private CursorPageDTO<FlightDTO> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Json.objectMapper();
+        flights = new ArrayList<>(pageSize);
+        LocalDateTime departure = LocalDateTime.of(2025, 6, 1, 8, 30);
+        for (int i = 0; i < pageSize; i++) {
+            Flight flight = new Flight();
+            flight.setId((long) i + 1);
+            flight.setFlightNumber("TB" + (1000 + i));
+            flight.setAirline("Travel Air");
+            flight.setOrigin("CMB");
+            flight.setDestination("DXB");
+            flight.setDepartureTime(departure.plusHours(i));
+            flight.setArrivalTime(departure.plusHours(i + 4));
+            flight.setPrice(new BigDecimal("349.99").add(BigDecimal.valueOf(i % 50)));
+            flight.setTotalSeats(180);
+            flight.setAvailableSeats(180 - i % 180);
+            flights.add(flight);
+        }
+        page = new CursorPageDTO<>(mapPage(), "MjAyNS0wNi0wMVQwODozMHwxMDA", true);
+    }
+
+    @Benchmark
+    public List<FlightDTO> mapToDTO() {
+        return mapPage();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Flights retrieved", page));
+    }
+
+    // What GET /api/flights does per page after the query: map, wrap and serialize
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        CursorPageDTO<FlightDTO> mapped = new CursorPageDTO<>(mapPage(), page.getNextCursor(), true);
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Flights retrieved", mapped));
+    }
+
+    private List<FlightDTO> mapPage() {
+        return flights.stream()
+                .map(FlightService::mapToDTO)
+                .collect(Collectors.toList());
+    }
+}
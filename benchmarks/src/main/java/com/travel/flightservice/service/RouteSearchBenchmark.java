@@ -0,0 +1,90 @@
+package com.travel.flightservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Route search over a synthetic schedule: flights spread over a month between a fixed set of airports
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteSearchBenchmark {
+
+    private static final int AIRPORTS = 60;
+    private static final int DAYS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 6, 1);
+
+    @Param({"100000"})
+    private int flights;
+
+    // Legs are priced as they are visited; static returns the stored fare
+    @Param({"static", "load-factor"})
+    private String engine;
+
+    private FlightScheduleIndex index;
+    private LocalDate searchDay;
+
+    @Setup
+    public void setUp() {
+        PricingEngine pricingEngine = engine.equals("static")
+                ? new StaticPricingEngine()
+                : new LoadFactorPricingEngine("0:1.50,0.10:1.30,0.25:1.15,0.50:1.00,0.80:0.90",
+                        "0:1.25,3:1.10,14:1.00,60:0.95");
+        index = new FlightScheduleIndex(null, new FareCalendar(pricingEngine), pricingEngine, new SimpleMeterRegistry(),
+                2_700_000, 43_200_000);
+        Random random = new Random(42);
+        for (int i = 0; i < flights; i++) {
+            int origin = random.nextInt(AIRPORTS);
+            int destination = (origin + 1 + random.nextInt(AIRPORTS - 1)) % AIRPORTS;
+            LocalDateTime departure = FIRST_DAY.atStartOfDay()
+                    .plusMinutes(random.nextInt(DAYS * 24 * 60));
+            index.put(new FlightScheduleIndex.Leg((long) i + 1, "TB" + i, "Travel Air", airport(origin),
+                    airport(destination), departure, departure.plusMinutes(60 + random.nextInt(600)),
+                    BigDecimal.valueOf(5_000 + random.nextInt(100_000), 2), 180, 1 + random.nextInt(180), 0L));
+        }
+        searchDay = FIRST_DAY.plusDays(DAYS / 2);
+    }
+
+    @Benchmark
+    public List<FlightScheduleIndex.Itinerary> directOnly() {
+        return index.search(airport(0), airport(1), searchDay, 0, 1, FlightScheduleIndex.SortBy.PRICE, 10);
+    }
+
+    @Benchmark
+    public List<FlightScheduleIndex.Itinerary> oneStopByPrice() {
+        return index.search(airport(0), airport(1), searchDay, 1, 1, FlightScheduleIndex.SortBy.PRICE, 10);
+    }
+
+    @Benchmark
+    public List<FlightScheduleIndex.Itinerary> twoStopsByPrice() {
+        return index.search(airport(0), airport(1), searchDay, 2, 1, FlightScheduleIndex.SortBy.PRICE, 10);
+    }
+
+    @Benchmark
+    public List<FlightScheduleIndex.Itinerary> twoStopsByDuration() {
+        return index.search(airport(0), airport(1), searchDay, 2, 2, FlightScheduleIndex.SortBy.DURATION, 10);
+    }
+
+    private static String airport(int i) {
+        return "A" + (char) ('A' + i / 26) + (char) ('A' + i % 26);
+    }
+}
@@ -0,0 +1,85 @@
+package com.travel.hotelservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.benchmarks.Json;
+import com.travel.hotelservice.dto.ApiResponse;
+import com.travel.hotelservice.dto.CursorPageDTO;
+import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.entity.Hotel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Lives in the service's package to reach the package-private HotelService.mapToDTO
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Hotel> hotels;
+    private CursorPageDTO<HotelDTO> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Json.objectMapper();
+        hotels = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setId((long) i + 1);
+            hotel.setName("Seaside Hotel " + i);
+            hotel.setLocation("Colombo");
+            hotel.setAddress(i + " Galle Road, Colombo 03");
+            hotel.setStarRating(3 + i % 3);
+            hotel.setPricePerNight(new BigDecimal("89.50").add(BigDecimal.valueOf(i % 40)));
+            hotel.setTotalRooms(120);
+            hotel.setAmenities("WiFi, Pool, Spa, Gym, Restaurant, Airport Shuttle");
+            hotels.add(hotel);
+        }
+        page = new CursorPageDTO<>(mapPage(), "MTAw", true);
+    }
+
+    @Benchmark
+    public List<HotelDTO> mapToDTO() {
+        return mapPage();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Hotels retrieved", page));
+    }
+
+    // What GET /api/hotels does per page after the query: map, wrap and serialize
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        CursorPageDTO<HotelDTO> mapped = new CursorPageDTO<>(mapPage(), page.getNextCursor(), true);
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Hotels retrieved", mapped));
+    }
+
+    private List<HotelDTO> mapPage() {
+        return hotels.stream()
+                .map(hotel -> HotelService.mapToDTO(hotel, 120 - (int) (hotel.getId() % 120)))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,11 +1,16 @@
 package com.travel.bookingservice;
 
+import com.travel.bookingservice.exception.BookingException;
+import com.travel.common.idempotency.EnableIdempotency;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
+@EnableIdempotency(badRequest = BookingException.class)
 public class BookingServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(BookingServiceApplication.class, args);
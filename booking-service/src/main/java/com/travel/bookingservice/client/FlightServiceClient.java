@@ -1,18 +1,32 @@
 package com.travel.bookingservice.client;
 
+import com.travel.bookingservice.config.PooledFeignConfiguration;
 import com.travel.bookingservice.dto.ApiResponse;
+import com.travel.bookingservice.dto.external.AvailabilityBatchRequest;
 import com.travel.bookingservice.dto.external.FlightAvailabilityDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "flight-service", url = "${services.flight}")
+import java.util.Map;
+
+@FeignClient(name = "flight-service", url = "${services.flight}", configuration = PooledFeignConfiguration.class)
 public interface FlightServiceClient {
 
     @GetMapping("/api/flights/{id}/availability")
     ApiResponse<FlightAvailabilityDTO> checkAvailability(@PathVariable Long id);
 
+    @PostMapping("/api/flights/availability:batch")
+    ApiResponse<Map<Long, FlightAvailabilityDTO>> checkAvailabilityBatch(@RequestBody AvailabilityBatchRequest request);
+
     @PostMapping("/api/flights/{id}/reserve")
-    ApiResponse<Boolean> reserveSeat(@PathVariable Long id);
+    ApiResponse<Boolean> reserveSeats(@PathVariable Long id, @RequestParam("seats") int seats);
+
+    @PostMapping("/api/flights/{id}/release")
+    ApiResponse<Integer> releaseSeats(@PathVariable Long id,
+                                      @RequestParam("seats") int seats,
+                                      @RequestParam("holdId") String holdId);
 }
\ No newline at end of file
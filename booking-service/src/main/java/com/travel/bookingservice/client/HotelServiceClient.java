@@ -1,18 +1,41 @@
 package com.travel.bookingservice.client;
 
+import com.travel.bookingservice.config.PooledFeignConfiguration;
 import com.travel.bookingservice.dto.ApiResponse;
+import com.travel.bookingservice.dto.external.AvailabilityBatchRequest;
 import com.travel.bookingservice.dto.external.HotelAvailabilityDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "hotel-service", url = "${services.hotel}")
+import java.time.LocalDate;
+import java.util.Map;
+
+@FeignClient(name = "hotel-service", url = "${services.hotel}", configuration = PooledFeignConfiguration.class)
 public interface HotelServiceClient {
 
     @GetMapping("/api/hotels/{id}/availability")
-    ApiResponse<HotelAvailabilityDTO> checkAvailability(@PathVariable Long id);
+    ApiResponse<HotelAvailabilityDTO> checkAvailability(@PathVariable Long id,
+                                                        @RequestParam("checkIn") LocalDate checkIn,
+                                                        @RequestParam("checkOut") LocalDate checkOut);
+
+    @PostMapping("/api/hotels/availability:batch")
+    ApiResponse<Map<Long, HotelAvailabilityDTO>> checkAvailabilityBatch(@RequestBody AvailabilityBatchRequest request);
 
     @PostMapping("/api/hotels/{id}/reserve")
-    ApiResponse<Boolean> reserveRoom(@PathVariable Long id);
+    ApiResponse<Boolean> reserveRooms(@PathVariable Long id,
+                                      @RequestParam("rooms") int rooms,
+                                      @RequestParam("checkIn") LocalDate checkIn,
+                                      @RequestParam("checkOut") LocalDate checkOut);
+
+    // Null dates release a room held without dates, as bookings made before stays had them did
+    @PostMapping("/api/hotels/{id}/release")
+    ApiResponse<Integer> releaseRooms(@PathVariable Long id,
+                                      @RequestParam("rooms") int rooms,
+                                      @RequestParam(value = "checkIn", required = false) LocalDate checkIn,
+                                      @RequestParam(value = "checkOut", required = false) LocalDate checkOut,
+                                      @RequestParam("holdId") String holdId);
 }
\ No newline at end of file
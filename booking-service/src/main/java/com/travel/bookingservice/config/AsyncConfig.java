@@ -0,0 +1,28 @@
+package com.travel.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Runs the user/flight/hotel pre-checks of a booking concurrently
+    @Bean(name = "bookingCheckExecutor")
+    public ThreadPoolTaskExecutor bookingCheckExecutor(
+            @Value("${booking.checks.pool-size:32}") int poolSize,
+            @Value("${booking.checks.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-check-");
+        // Carries the caller's trace context onto the check threads so the downstream calls join its trace
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,99 @@
+package com.travel.bookingservice.config;
+
+import com.travel.common.http.DownstreamSettings;
+import feign.Client;
+import feign.Request;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.ObservationExecChainHandler;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every Feign client that references it its own pooled Apache HttpClient 5 transport,
+ * configured from http.clients.&lt;client name&gt;.*. Not a @Configuration on purpose: it is only
+ * loaded into the per-client Feign contexts. The WebClient pool settings map onto HttpClient 5 as
+ * follows: max-connections is the pool size and per-route limit, pending-acquire-timeout-ms the
+ * connection request timeout, and pending-acquire-max-count caps how many requests may wait for a
+ * connection on top of those in use; further requests fail at once. Pool usage is exported as
+ * httpcomponents.httpclient.pool.* and request latency per target host as
+ * httpcomponents.httpclient.request.
+ */
+public class PooledFeignConfiguration {
+
+    @Bean
+    public Request.Options feignRequestOptions(Environment env,
+                                               @Value("${spring.cloud.openfeign.client.name}") String clientName) {
+        DownstreamSettings settings = DownstreamSettings.of(env, clientName);
+        return new Request.Options(settings.connectTimeoutMs(), TimeUnit.MILLISECONDS,
+                settings.responseTimeoutMs(), TimeUnit.MILLISECONDS, true);
+    }
+
+    @Bean
+    public CloseableHttpClient feignHttpClient(Environment env,
+                                               MeterRegistry meterRegistry,
+                                               ObservationRegistry observationRegistry,
+                                               @Value("${spring.cloud.openfeign.client.name}") String clientName) {
+        DownstreamSettings settings = DownstreamSettings.of(env, clientName);
+
+        // Every client talks to a single host, so the per-route limit is the pool size
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(settings.connectTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(settings.maxLifeTimeMs()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName).bindTo(meterRegistry);
+
+        // The pool itself queues waiters without limit, so admission is capped in front of it
+        Semaphore admitted = new Semaphore(settings.maxConnections() + settings.pendingAcquireMaxCount());
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // ApacheHttp5Client starts each request's config from this one, so the timeout below applies
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Callers give up after this long waiting for a pooled connection
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.pendingAcquireTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.responseTimeoutMs()))
+                        .build())
+                .addExecInterceptorFirst("pending-acquire-limit", (request, scope, chain) -> {
+                    if (!admitted.tryAcquire()) {
+                        throw new ConnectionRequestTimeoutException("More than " + settings.pendingAcquireMaxCount()
+                                + " requests are waiting for a " + clientName + " connection");
+                    }
+                    try {
+                        return chain.proceed(request, scope);
+                    } finally {
+                        admitted.release();
+                    }
+                })
+                .addExecInterceptorAfter(ChainElement.RETRY.name(), "micrometer",
+                        new ObservationExecChainHandler(observationRegistry))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.maxIdleTimeMs()))
+                .build();
+    }
+
+    @Bean
+    public Client feignClient(CloseableHttpClient feignHttpClient) {
+        return new ApacheHttp5Client(feignHttpClient);
+    }
+}
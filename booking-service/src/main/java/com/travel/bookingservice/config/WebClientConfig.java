@@ -1,18 +1,53 @@
 package com.travel.bookingservice.config;
 
+import com.travel.common.http.DownstreamConnections;
+import com.travel.common.http.DownstreamSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userServicePool(Environment env) {
+        return DownstreamConnections.pool(DownstreamSettings.of(env, "user-service"));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider notificationServicePool(Environment env) {
+        return DownstreamConnections.pool(DownstreamSettings.of(env, "notification-service"));
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
+    public WebClient userServiceWebClient(WebClient.Builder builder,
+                                          Environment env,
+                                          @Qualifier("userServicePool") ConnectionProvider pool,
+                                          @Value("${services.user}") String baseUrl) {
+        return downstreamClient(builder, DownstreamSettings.of(env, "user-service"), pool, baseUrl);
+    }
+
+    @Bean
+    public WebClient notificationServiceWebClient(WebClient.Builder builder,
+                                                  Environment env,
+                                                  @Qualifier("notificationServicePool") ConnectionProvider pool,
+                                                  @Value("${services.notification}") String baseUrl) {
+        return downstreamClient(builder, DownstreamSettings.of(env, "notification-service"), pool, baseUrl);
+    }
+
+    // The Boot-provided builder records http.client.requests per host and URI template
+    private WebClient downstreamClient(WebClient.Builder builder, DownstreamSettings settings,
+                                       ConnectionProvider pool, String baseUrl) {
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(DownstreamConnections.connector(settings, pool))
                 .codecs(configurer -> configurer
                         .defaultCodecs()
                         .maxInMemorySize(16 * 1024 * 1024))
                 .build();
     }
-}
\ No newline at end of file
+}
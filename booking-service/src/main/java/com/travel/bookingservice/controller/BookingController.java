@@ -1,18 +1,24 @@
 package com.travel.bookingservice.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.travel.bookingservice.dto.ApiResponse;
 import com.travel.bookingservice.dto.BookingRequestDTO;
 import com.travel.bookingservice.dto.BookingResponseDTO;
 import com.travel.bookingservice.entity.BookingStatus;
 import com.travel.bookingservice.service.BookingService;
+import com.travel.common.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,15 +26,22 @@ import java.util.List;
 @RequiredArgsConstructor
 @Tag(name = "Booking Service", description = "Main booking orchestrator")
 public class BookingController {
+    private static final TypeReference<ApiResponse<BookingResponseDTO>> BOOKING_RESPONSE = new TypeReference<>() {};
+
     private final BookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    @Operation(summary = "Create a new booking")
+    @Operation(summary = "Create a new booking",
+            description = "Retries with the same Idempotency-Key get the first response back instead of a second booking")
     public ResponseEntity<ApiResponse<BookingResponseDTO>> createBooking(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BookingRequestDTO request) {
-        BookingResponseDTO booking = bookingService.createBooking(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new ApiResponse<>(true, "Booking created successfully", booking));
+        return idempotencyStore.execute(idempotencyKey, request, BOOKING_RESPONSE, () -> {
+            BookingResponseDTO booking = bookingService.createBooking(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, "Booking created successfully", booking));
+        });
     }
 
     @GetMapping("/{id}")
@@ -54,4 +67,13 @@ public class BookingController {
         BookingResponseDTO booking = bookingService.updateBookingStatus(id, status);
         return ResponseEntity.ok(new ApiResponse<>(true, "Status updated", booking));
     }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Stream bookings created since a timestamp as NDJSON")
+    public void exportBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        bookingService.exportBookings(since, response.getOutputStream());
+    }
 }
\ No newline at end of file
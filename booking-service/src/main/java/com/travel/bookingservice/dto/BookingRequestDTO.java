@@ -1,5 +1,6 @@
 package com.travel.bookingservice.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,4 +22,15 @@ public class BookingRequestDTO {
 
     @NotNull(message = "Travel date is required")
     private LocalDate travelDate;
+
+    // Hotel check-out; the hotel is booked from travelDate for one night when left out
+    private LocalDate checkOutDate;
+
+    // Travellers, one flight seat each; 1 when left out
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Hotel rooms for the group; one per traveller when left out
+    @Min(value = 1, message = "Rooms must be at least 1")
+    private Integer rooms;
 }
\ No newline at end of file
@@ -16,6 +16,9 @@ public class BookingResponseDTO {
     private Long flightId;
     private Long hotelId;
     private LocalDate travelDate;
+    private LocalDate checkOutDate;
+    private Integer quantity;
+    private Integer rooms;
     private BigDecimal totalCost;
     private BookingStatus status;
     private String bookingReference;
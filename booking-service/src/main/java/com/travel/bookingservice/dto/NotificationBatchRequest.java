@@ -0,0 +1,13 @@
+package com.travel.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequest {
+    private List<NotificationRequest> notifications;
+}
@@ -11,4 +11,6 @@ public class NotificationRequest {
     private Long userId;
     private String title;
     private String message;
+    // Lets notification-service drop a notification it already received from an earlier attempt
+    private String sourceId;
 }
\ No newline at end of file
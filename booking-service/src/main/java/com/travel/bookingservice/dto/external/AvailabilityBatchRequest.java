@@ -0,0 +1,13 @@
+package com.travel.bookingservice.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityBatchRequest {
+    private List<Long> ids;
+}
@@ -9,7 +9,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_created_at", columnList = "createdAt"),
+        @Index(name = "idx_bookings_hold_expires_at", columnList = "holdExpiresAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +33,14 @@ public class Booking {
     @Column(nullable = false)
     private LocalDate travelDate;
 
+    // Null on bookings made before hotel stays had dates; those held a room without a night
+    private LocalDate checkOutDate;
+
+    // Seats and rooms held for the group; null on bookings made before group bookings, which held one of each
+    private Integer quantity;
+
+    private Integer rooms;
+
     @Column(nullable = false)
     private BigDecimal totalCost;
 
@@ -39,6 +50,14 @@ public class Booking {
 
     private String bookingReference;
 
+    // Whether this booking still owns a seat / room in flight- and hotel-service
+    private Boolean flightHeld = false;
+
+    private Boolean hotelHeld = false;
+
+    // When set, the held inventory is released by the hold sweep at this time unless cleared first
+    private LocalDateTime holdExpiresAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -48,4 +67,21 @@ public class Booking {
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    public int seatCount() {
+        return quantity != null ? quantity : 1;
+    }
+
+    public int roomCount() {
+        return rooms != null ? rooms : 1;
+    }
+
+    // Sent with every release so flight- and hotel-service give this booking's inventory back only once
+    public String holdId() {
+        return "booking-" + id;
+    }
+
+    public boolean holdsInventory() {
+        return Boolean.TRUE.equals(flightHeld) || Boolean.TRUE.equals(hotelHeld);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.travel.bookingservice.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
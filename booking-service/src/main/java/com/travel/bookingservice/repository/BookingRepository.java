@@ -2,12 +2,40 @@ package com.travel.bookingservice.repository;
 
 import com.travel.bookingservice.entity.Booking;
 import com.travel.bookingservice.entity.BookingStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserId(Long userId);
     List<Booking> findByStatus(BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    // Oldest expired holds first; SKIP LOCKED lets several sweepers claim disjoint chunks
+    @Query(value = "SELECT * FROM bookings WHERE hold_expires_at <= :now " +
+            "ORDER BY hold_expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Booking> lockExpiredHolds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Forward-only cursor for exports; rows are fetched from the database 500 at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.createdAt >= :since ORDER BY b.id")
+    Stream<Booking> streamCreatedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.travel.bookingservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travel.bookingservice.client.FlightServiceClient;
 import com.travel.bookingservice.client.HotelServiceClient;
 import com.travel.bookingservice.dto.ApiResponse;
@@ -8,71 +10,104 @@ import com.travel.bookingservice.dto.BookingResponseDTO;
 import com.travel.bookingservice.dto.external.*;
 import com.travel.bookingservice.entity.Booking;
 import com.travel.bookingservice.entity.BookingStatus;
+import com.travel.bookingservice.entity.OutboxMessage;
 import com.travel.bookingservice.exception.BookingException;
 import com.travel.bookingservice.exception.ResourceNotFoundException;
 import com.travel.bookingservice.repository.BookingRepository;
+import com.travel.bookingservice.repository.OutboxMessageRepository;
+import com.travel.common.resilience.DownstreamGuard;
+import com.travel.common.resilience.DownstreamUnavailableException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
 
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
     private final FlightServiceClient flightServiceClient;
     private final HotelServiceClient hotelServiceClient;
-    private final WebClient webClient;
-
-    @Value("${services.user}")
-    private String userServiceUrl;
-
-    @Value("${services.notification}")
-    private String notificationServiceUrl;
-
-    @Transactional
-    public BookingResponseDTO createBooking(BookingRequestDTO request) {
-        log.info("Starting booking process for user: {}", request.getUserId());
+    private final OutboxMessageRepository outboxRepository;
+    private final UserStatusCache userStatusCache;
+    private final DownstreamGuard downstreamGuard;
+    private final BookingStepTimer stepTimer;
 
-        // Step 1: Validate user via WebClient
-        log.info("Step 1: Validating user");
-        boolean isUserValid = validateUser(request.getUserId());
-        if (!isUserValid) {
-            throw new BookingException("User validation failed");
-        }
+    @Qualifier("bookingCheckExecutor")
+    private final Executor bookingCheckExecutor;
 
-        // Step 2: Check flight availability via Feign Client
-        log.info("Step 2: Checking flight availability");
-        ApiResponse<FlightAvailabilityDTO> flightResponse =
-                flightServiceClient.checkAvailability(request.getFlightId());
+    @Value("${booking.checks.parallel:false}")
+    private boolean parallelChecks;
 
-        if (flightResponse.getData() == null || !flightResponse.getData().isAvailable()) {
-            throw new BookingException("Flight not available");
-        }
+    @Value("${booking.checks.timeout-ms:3000}")
+    private long checkTimeoutMs;
 
-        // Step 3: Check hotel availability via Feign Client
-        log.info("Step 3: Checking hotel availability");
-        ApiResponse<HotelAvailabilityDTO> hotelResponse =
-                hotelServiceClient.checkAvailability(request.getHotelId());
+    @Value("${booking.holds.ttl-ms:900000}")
+    private long holdTtlMs;
 
-        if (hotelResponse.getData() == null || !hotelResponse.getData().isAvailable()) {
-            throw new BookingException("Hotel not available");
+    // A failed reservation still commits the FAILED booking so its partial hold can be released
+    @Transactional(noRollbackFor = BookingException.class)
+    public BookingResponseDTO createBooking(BookingRequestDTO request) {
+        log.info("Starting booking process for user: {}", request.getUserId());
+        Trip trip = tripOf(request);
+
+        FlightAvailabilityDTO flight;
+        HotelAvailabilityDTO hotel;
+        if (parallelChecks) {
+            // Steps 1-3: Validate user, check flight and hotel availability concurrently
+            log.info("Steps 1-3: Running user, flight and hotel checks concurrently");
+            CheckOutcome outcome = runChecksConcurrently(request, trip);
+            flight = outcome.flight();
+            hotel = outcome.hotel();
+        } else {
+            // Step 1: Validate user via WebClient
+            log.info("Step 1: Validating user");
+            requireValidUser(request.getUserId());
+
+            // Step 2: Check flight availability via Feign Client
+            log.info("Step 2: Checking flight availability");
+            flight = requireAvailableFlight(request.getFlightId(), trip.seats());
+
+            // Step 3: Check hotel availability via Feign Client
+            log.info("Step 3: Checking hotel availability");
+            hotel = requireAvailableHotel(request.getHotelId(), trip);
         }
 
         // Step 4: Calculate total cost
         log.info("Step 4: Calculating total cost");
-        BigDecimal flightPrice = flightResponse.getData().getPrice();
-        BigDecimal hotelPrice = hotelResponse.getData().getPricePerNight();
+        BigDecimal flightPrice = flight.getPrice().multiply(BigDecimal.valueOf(trip.seats()));
+        BigDecimal hotelPrice = hotel.getPricePerNight().multiply(BigDecimal.valueOf(trip.nights() * trip.rooms()));
         BigDecimal totalCost = flightPrice.add(hotelPrice);
 
         // Step 5: Create booking with PENDING status
@@ -81,23 +116,47 @@ public class BookingService {
         booking.setUserId(request.getUserId());
         booking.setFlightId(request.getFlightId());
         booking.setHotelId(request.getHotelId());
-        booking.setTravelDate(request.getTravelDate());
+        booking.setTravelDate(trip.checkIn());
+        booking.setCheckOutDate(trip.checkOut());
+        booking.setQuantity(trip.seats());
+        booking.setRooms(trip.rooms());
         booking.setTotalCost(totalCost);
         booking.setStatus(BookingStatus.PENDING);
         booking.setBookingReference("BK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = stepTimer.record("create_booking", () -> bookingRepository.save(booking));
         log.info("Booking created with ID: {} and reference: {}",
                 savedBooking.getId(), savedBooking.getBookingReference());
 
-        // Step 6: Reserve flight and hotel
+        // Step 6: Hold all seats and rooms in one all-or-nothing call each;
+        // the hold expires unless payment confirms the booking in time
         log.info("Step 6: Reserving flight and hotel");
         try {
-            flightServiceClient.reserveSeat(request.getFlightId());
-            hotelServiceClient.reserveRoom(request.getHotelId());
+            stepTimer.record("reserve_seat", () -> {
+                if (!isReserved(downstreamGuard.call("flight-service",
+                        () -> flightServiceClient.reserveSeats(request.getFlightId(), trip.seats())))) {
+                    throw new BookingException("Fewer than " + trip.seats() + " seat(s) left on flight "
+                            + request.getFlightId());
+                }
+            });
+            savedBooking.setFlightHeld(true);
+            stepTimer.record("reserve_room", () -> {
+                if (!isReserved(downstreamGuard.call("hotel-service",
+                        () -> hotelServiceClient.reserveRooms(request.getHotelId(), trip.rooms(),
+                                trip.checkIn(), trip.checkOut())))) {
+                    throw new BookingException("Fewer than " + trip.rooms() + " room(s) left at hotel "
+                            + request.getHotelId() + " for every night from " + trip.checkIn()
+                            + " to " + trip.checkOut());
+                }
+            });
+            savedBooking.setHotelHeld(true);
+            savedBooking.setHoldExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(holdTtlMs)));
+            savedBooking = bookingRepository.save(savedBooking);
         } catch (Exception e) {
             log.error("Failed to reserve flight/hotel", e);
             savedBooking.setStatus(BookingStatus.FAILED);
+            // Whatever was already held is given back by the next hold sweep
+            savedBooking.setHoldExpiresAt(savedBooking.holdsInventory() ? LocalDateTime.now() : null);
             bookingRepository.save(savedBooking);
             throw new BookingException("Failed to reserve flight or hotel");
         }
@@ -112,15 +171,32 @@ public class BookingService {
     public BookingResponseDTO updateBookingStatus(Long bookingId, BookingStatus status) {
         log.info("Updating booking {} to status {}", bookingId, status);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        // Row lock so a status change cannot interleave with the hold sweep expiring the same booking
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
+        // Updates are retried by payment-service, so a repeat must not confirm or notify twice
+        if (booking.getStatus() == status) {
+            return mapToResponseDTO(booking, "Booking status already " + status);
+        }
+
+        if (status == BookingStatus.CONFIRMED && booking.getStatus() == BookingStatus.EXPIRED) {
+            throw new BookingException("Booking hold expired before payment was confirmed: " + bookingId);
+        }
+
         booking.setStatus(status);
+        if (status == BookingStatus.CONFIRMED) {
+            // Confirmed bookings keep their seat and room for good
+            booking.setHoldExpiresAt(null);
+        } else if ((status == BookingStatus.FAILED || status == BookingStatus.CANCELLED) && booking.holdsInventory()) {
+            // Released by the next hold sweep rather than calling flight/hotel-service inside this transaction
+            booking.setHoldExpiresAt(LocalDateTime.now());
+        }
         Booking updated = bookingRepository.save(booking);
 
-        // Send notification via WebClient if confirmed
+        // Queue the confirmation in the outbox, committed atomically with the status change
         if (status == BookingStatus.CONFIRMED) {
-            sendNotification(booking);
+            enqueueConfirmation(booking);
         }
 
         return mapToResponseDTO(updated, "Booking status updated to " + status);
@@ -138,53 +214,168 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
-    private boolean validateUser(Long userId) {
+    @Transactional(readOnly = true)
+    public long exportBookings(LocalDateTime since, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamCreatedSince(since != null ? since : EXPORT_EPOCH);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                generator.writeObject(mapToResponseDTO(booking, null));
+                generator.writeRaw('\n');
+                // Keep the persistence context from growing with the export
+                entityManager.detach(booking);
+                exported++;
+            }
+        }
+        log.info("Exported {} bookings created since {}", exported, since);
+        return exported;
+    }
+
+    private CheckOutcome runChecksConcurrently(BookingRequestDTO request, Trip trip) {
+        CompletionService<CheckOutcome> completionService =
+                new ExecutorCompletionService<>(bookingCheckExecutor);
+        List<Future<CheckOutcome>> futures = new ArrayList<>(3);
         try {
-            ApiResponse<Boolean> response = webClient.get()
-                    .uri(userServiceUrl + "/api/users/validate/" + userId)
-                    .retrieve()
-                    .bodyToMono(new org.springframework.core.ParameterizedTypeReference<ApiResponse<Boolean>>() {})
-                    .block();
+            futures.add(completionService.submit(() -> {
+                requireValidUser(request.getUserId());
+                return new CheckOutcome(null, null);
+            }));
+            futures.add(completionService.submit(() ->
+                    new CheckOutcome(requireAvailableFlight(request.getFlightId(), trip.seats()), null)));
+            futures.add(completionService.submit(() ->
+                    new CheckOutcome(null, requireAvailableHotel(request.getHotelId(), trip))));
+
+            // Results are consumed in completion order so the first negative answer fails the booking
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(checkTimeoutMs);
+            FlightAvailabilityDTO flight = null;
+            HotelAvailabilityDTO hotel = null;
+            for (int i = 0; i < futures.size(); i++) {
+                Future<CheckOutcome> completed =
+                        completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    throw new BookingException("Booking checks timed out after " + checkTimeoutMs + " ms");
+                }
+                CheckOutcome outcome = completed.get();
+                if (outcome.flight() != null) {
+                    flight = outcome.flight();
+                }
+                if (outcome.hotel() != null) {
+                    hotel = outcome.hotel();
+                }
+            }
+            return new CheckOutcome(flight, hotel);
+        } catch (RejectedExecutionException e) {
+            throw new BookingException("Booking checks rejected, service is busy", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Booking checks interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BookingException("Booking check failed", e.getCause());
+        } finally {
+            // Cancel whatever is still running once the outcome is known
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
 
-            return response != null && response.getData() != null && response.getData();
+    private void requireValidUser(Long userId) {
+        stepTimer.record("validate_user", () -> {
+            if (!validateUser(userId)) {
+                throw new BookingException("User validation failed");
+            }
+        });
+    }
+
+    private FlightAvailabilityDTO requireAvailableFlight(Long flightId, int seats) {
+        return stepTimer.record("check_flight", () -> {
+            ApiResponse<FlightAvailabilityDTO> flightResponse = downstreamGuard.call("flight-service",
+                    () -> flightServiceClient.checkAvailability(flightId));
+            if (flightResponse.getData() == null || !flightResponse.getData().isAvailable()) {
+                throw new BookingException("Flight not available");
+            }
+            if (flightResponse.getData().getAvailableSeats() < seats) {
+                throw new BookingException("Only " + flightResponse.getData().getAvailableSeats()
+                        + " seat(s) left on flight " + flightId);
+            }
+            return flightResponse.getData();
+        });
+    }
+
+    private HotelAvailabilityDTO requireAvailableHotel(Long hotelId, Trip trip) {
+        return stepTimer.record("check_hotel", () -> {
+            ApiResponse<HotelAvailabilityDTO> hotelResponse = downstreamGuard.call("hotel-service",
+                    () -> hotelServiceClient.checkAvailability(hotelId, trip.checkIn(), trip.checkOut()));
+            if (hotelResponse.getData() == null || !hotelResponse.getData().isAvailable()) {
+                throw new BookingException("Hotel not available");
+            }
+            if (hotelResponse.getData().getAvailableRooms() < trip.rooms()) {
+                throw new BookingException("Only " + hotelResponse.getData().getAvailableRooms()
+                        + " room(s) left at hotel " + hotelId);
+            }
+            return hotelResponse.getData();
+        });
+    }
+
+    private boolean validateUser(Long userId) {
+        try {
+            return userStatusCache.isActive(userId);
+        } catch (DownstreamUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to validate user: {}", userId, e);
             return false;
         }
     }
 
-    private void sendNotification(Booking booking) {
-        try {
-            log.info("Sending notification for booking: {}", booking.getBookingReference());
-
-            NotificationRequest notificationRequest = new NotificationRequest(
-                    booking.getUserId(),
-                    "Booking Confirmed",
-                    String.format("Your booking %s has been confirmed. Total: $%.2f",
-                            booking.getBookingReference(), booking.getTotalCost())
-            );
-
-            webClient.post()
-                    .uri(notificationServiceUrl + "/api/notifications/send")
-                    .bodyValue(notificationRequest)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .subscribe(
-                            result -> log.info("Notification sent successfully"),
-                            error -> log.error("Failed to send notification", error)
-                    );
-        } catch (Exception e) {
-            log.error("Error sending notification", e);
+    private boolean isReserved(ApiResponse<Boolean> response) {
+        return response != null && Boolean.TRUE.equals(response.getData());
+    }
+
+    private void enqueueConfirmation(Booking booking) {
+        OutboxMessage message = new OutboxMessage();
+        message.setBookingId(booking.getId());
+        message.setUserId(booking.getUserId());
+        message.setTitle("Booking Confirmed");
+        message.setMessage(String.format("Your booking %s has been confirmed. Total: $%.2f",
+                booking.getBookingReference(), booking.getTotalCost()));
+        outboxRepository.save(message);
+        log.info("Queued confirmation notification for booking: {}", booking.getBookingReference());
+    }
+
+    private Trip tripOf(BookingRequestDTO request) {
+        LocalDate checkIn = request.getTravelDate();
+        LocalDate checkOut = request.getCheckOutDate() != null ? request.getCheckOutDate() : checkIn.plusDays(1);
+        if (!checkOut.isAfter(checkIn)) {
+            throw new BookingException("Check-out date must be after the travel date");
         }
+        int seats = request.getQuantity() != null ? request.getQuantity() : 1;
+        int rooms = request.getRooms() != null ? request.getRooms() : seats;
+        return new Trip(seats, rooms, checkIn, checkOut);
+    }
+
+    private record CheckOutcome(FlightAvailabilityDTO flight, HotelAvailabilityDTO hotel) {
     }
 
-    private BookingResponseDTO mapToResponseDTO(Booking booking, String message) {
+    private record Trip(int seats, int rooms, LocalDate checkIn, LocalDate checkOut) {
+        long nights() {
+            return ChronoUnit.DAYS.between(checkIn, checkOut);
+        }
+    }
+
+    static BookingResponseDTO mapToResponseDTO(Booking booking, String message) {
         BookingResponseDTO dto = new BookingResponseDTO();
         dto.setId(booking.getId());
         dto.setUserId(booking.getUserId());
         dto.setFlightId(booking.getFlightId());
         dto.setHotelId(booking.getHotelId());
         dto.setTravelDate(booking.getTravelDate());
+        dto.setCheckOutDate(booking.getCheckOutDate());
+        dto.setQuantity(booking.getQuantity());
+        dto.setRooms(booking.getRooms());
         dto.setTotalCost(booking.getTotalCost());
         dto.setStatus(booking.getStatus());
         dto.setBookingReference(booking.getBookingReference());
@@ -192,18 +383,3 @@ public class BookingService {
         return dto;
     }
 }
-
-// Notification Request DTO
-class NotificationRequest {
-    private Long userId;
-    private String title;
-    private String message;
-
-    public NotificationRequest(Long userId, String title, String message) {
-        this.userId = userId;
-        this.title = title;
-        this.message = message;
-    }
-
-    // Getters and setters
-}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.travel.bookingservice.service;
+
+import com.travel.bookingservice.exception.BookingException;
+import com.travel.common.resilience.DownstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Records each step of the booking saga as the booking.step timer, tagged with the step name and
+ * its outcome: success, rejected (a business check said no), unavailable (a downstream shed the
+ * call) or error.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStepTimer {
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T record(String step, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } catch (BookingException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (DownstreamUnavailableException e) {
+            outcome = "unavailable";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("booking.step", "step", step, "outcome", outcome));
+        }
+    }
+
+    public void record(String step, Runnable body) {
+        record(step, () -> {
+            body.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.travel.bookingservice.service;
+
+import com.travel.bookingservice.dto.NotificationBatchRequest;
+import com.travel.bookingservice.dto.NotificationRequest;
+import com.travel.bookingservice.entity.OutboxMessage;
+import com.travel.bookingservice.entity.OutboxStatus;
+import com.travel.bookingservice.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox. Due messages are claimed with FOR UPDATE SKIP LOCKED and leased
+ * by pushing their next attempt forward, then relayed to notification-service's bulk endpoint in
+ * chunks with bounded concurrency. Failed chunks are retried with exponential backoff until
+ * max-attempts is reached. Each item carries its outbox row id as the source id, so a chunk that is
+ * sent again after a timeout is not delivered twice by notification-service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private static final String SOURCE_ID_PREFIX = "booking-outbox-";
+
+    private final OutboxMessageRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("notificationServiceWebClient")
+    private final WebClient webClient;
+
+    @Value("${booking.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.outbox.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${booking.outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${booking.outbox.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    @Value("${booking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${booking.outbox.backoff-ms:1000}")
+    private long backoffMs;
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<OutboxMessage> claimed = claimDueMessages();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<List<OutboxMessage>> chunks = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i += chunkSize) {
+            chunks.add(claimed.subList(i, Math.min(i + chunkSize, claimed.size())));
+        }
+
+        List<ChunkResult> results = Flux.fromIterable(chunks)
+                .flatMap(chunk -> send(chunk)
+                        .thenReturn(new ChunkResult(chunk, null))
+                        .onErrorResume(error -> Mono.just(new ChunkResult(chunk, error))), concurrency)
+                .collectList()
+                .block();
+
+        recordResults(results);
+    }
+
+    private List<OutboxMessage> claimDueMessages() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxRepository.lockDueMessages(now, batchSize);
+            // Lease the claimed rows so no other relay picks them up while they are in flight
+            LocalDateTime leaseUntil = now.plus(Duration.ofMillis(requestTimeoutMs * 2));
+            due.forEach(message -> {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+            });
+            return due;
+        });
+    }
+
+    private Mono<Void> send(List<OutboxMessage> chunk) {
+        List<NotificationRequest> notifications = chunk.stream()
+                .map(message -> new NotificationRequest(message.getUserId(), message.getTitle(), message.getMessage(),
+                        SOURCE_ID_PREFIX + message.getId()))
+                .collect(Collectors.toList());
+
+        return webClient.post()
+                .uri("/api/notifications/send:batch")
+                .bodyValue(new NotificationBatchRequest(notifications))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofMillis(requestTimeoutMs));
+    }
+
+    private void recordResults(List<ChunkResult> results) {
+        List<Long> sentIds = new ArrayList<>();
+        Map<Long, Throwable> failures = new HashMap<>();
+        for (ChunkResult result : results) {
+            for (OutboxMessage message : result.chunk()) {
+                if (result.error() == null) {
+                    sentIds.add(message.getId());
+                } else {
+                    failures.put(message.getId(), result.error());
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            if (!failures.isEmpty()) {
+                outboxRepository.findAllById(failures.keySet()).forEach(message ->
+                        scheduleRetry(message, failures.get(message.getId())));
+            }
+        });
+
+        log.info("Relayed {} outbox notifications, {} failed", sentIds.size(), failures.size());
+    }
+
+    private void scheduleRetry(OutboxMessage message, Throwable error) {
+        String reason = String.valueOf(error.getMessage());
+        message.setLastError(reason.length() > 500 ? reason.substring(0, 500) : reason);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            log.error("Giving up on outbox message {} after {} attempts", message.getId(), message.getAttempts());
+            return;
+        }
+        long delay = backoffMs << Math.min(message.getAttempts() - 1, 10);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+    }
+
+    private record ChunkResult(List<OutboxMessage> chunk, Throwable error) {
+    }
+}
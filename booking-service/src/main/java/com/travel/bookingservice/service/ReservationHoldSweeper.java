@@ -0,0 +1,136 @@
+package com.travel.bookingservice.service;
+
+import com.travel.bookingservice.client.FlightServiceClient;
+import com.travel.bookingservice.client.HotelServiceClient;
+import com.travel.bookingservice.entity.Booking;
+import com.travel.bookingservice.entity.BookingStatus;
+import com.travel.bookingservice.repository.BookingRepository;
+import com.travel.common.resilience.DownstreamGuard;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gives seats and rooms back to flight- and hotel-service once a booking's hold runs out. Holds
+ * expire when a PENDING booking is not paid within booking.holds.ttl-ms, or immediately when a
+ * booking goes FAILED or CANCELLED. Expired holds are claimed in chunks off the hold_expires_at
+ * index with FOR UPDATE SKIP LOCKED and leased until the retry delay, so a release that fails is
+ * simply picked up again by a later sweep. Every release carries the booking's hold id, so one that
+ * was applied downstream but looked failed here is not applied a second time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationHoldSweeper {
+
+    private final BookingRepository bookingRepository;
+    private final FlightServiceClient flightServiceClient;
+    private final HotelServiceClient hotelServiceClient;
+    private final DownstreamGuard downstreamGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.holds.sweep-batch-size:200}")
+    private int batchSize;
+
+    @Value("${booking.holds.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Scheduled(fixedDelayString = "${booking.holds.sweep-interval-ms:5000}")
+    public void sweep() {
+        int released = 0;
+        List<Booking> claimed;
+        do {
+            claimed = claimExpiredHolds();
+            claimed.forEach(this::release);
+            released += recordReleases(claimed);
+        } while (claimed.size() == batchSize);
+
+        if (released > 0) {
+            log.info("Released inventory held by {} bookings", released);
+        }
+    }
+
+    private List<Booking> claimExpiredHolds() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> expired = bookingRepository.lockExpiredHolds(now, batchSize);
+            // Lease the rows so failed releases are retried later instead of again in this sweep
+            LocalDateTime leaseUntil = now.plus(Duration.ofMillis(retryDelayMs));
+            expired.forEach(booking -> {
+                if (booking.getStatus() == BookingStatus.PENDING) {
+                    booking.setStatus(BookingStatus.EXPIRED);
+                    log.info("Hold expired for unpaid booking: {}", booking.getBookingReference());
+                }
+                booking.setHoldExpiresAt(leaseUntil);
+            });
+            return expired;
+        });
+    }
+
+    private void release(Booking booking) {
+        if (Boolean.TRUE.equals(booking.getFlightHeld())) {
+            try {
+                downstreamGuard.call("flight-service", () -> flightServiceClient.releaseSeats(
+                        booking.getFlightId(), booking.seatCount(), booking.holdId()));
+                booking.setFlightHeld(false);
+            } catch (FeignException.NotFound e) {
+                booking.setFlightHeld(false);
+                log.warn("Flight {} no longer exists, dropping hold for booking {}", booking.getFlightId(), booking.getId());
+            } catch (Exception e) {
+                log.warn("Failed to release seat on flight {} for booking {}", booking.getFlightId(), booking.getId(), e);
+            }
+        }
+
+        if (Boolean.TRUE.equals(booking.getHotelHeld())) {
+            try {
+                downstreamGuard.call("hotel-service", () -> hotelServiceClient.releaseRooms(
+                        booking.getHotelId(), booking.roomCount(), stayStart(booking), booking.getCheckOutDate(),
+                        booking.holdId()));
+                booking.setHotelHeld(false);
+            } catch (FeignException.NotFound e) {
+                booking.setHotelHeld(false);
+                log.warn("Hotel {} no longer exists, dropping hold for booking {}", booking.getHotelId(), booking.getId());
+            } catch (Exception e) {
+                log.warn("Failed to release room at hotel {} for booking {}", booking.getHotelId(), booking.getId(), e);
+            }
+        }
+    }
+
+    private static LocalDate stayStart(Booking booking) {
+        return booking.getCheckOutDate() != null ? booking.getTravelDate() : null;
+    }
+
+    private int recordReleases(List<Booking> claimed) {
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Booking> outcomes = claimed.stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        return transactionTemplate.execute(status -> {
+            int released = 0;
+            for (Booking booking : bookingRepository.findAllById(outcomes.keySet())) {
+                Booking outcome = outcomes.get(booking.getId());
+                booking.setFlightHeld(outcome.getFlightHeld());
+                booking.setHotelHeld(outcome.getHotelHeld());
+                if (!booking.holdsInventory()) {
+                    booking.setHoldExpiresAt(null);
+                    released++;
+                }
+            }
+            return released;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.travel.bookingservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.travel.bookingservice.dto.ApiResponse;
+import com.travel.common.resilience.DownstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of user active status in front of user-service's validate endpoint.
+ * Inactive and unknown users are cached as well (negative caching) with their own, shorter TTL.
+ * Entries older than refresh-after-ms are reloaded in the background on the next read while the
+ * old value keeps being served. Transport errors are never cached.
+ */
+@Component
+@Slf4j
+public class UserStatusCache {
+
+    private final WebClient webClient;
+    private final DownstreamGuard downstreamGuard;
+    private final boolean enabled;
+    private final LoadingCache<Long, Boolean> cache;
+
+    public UserStatusCache(@Qualifier("userServiceWebClient") WebClient webClient,
+                           DownstreamGuard downstreamGuard,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.user-cache.enabled:true}") boolean enabled,
+                           @Value("${booking.user-cache.max-size:100000}") long maxSize,
+                           @Value("${booking.user-cache.ttl-ms:300000}") long ttlMs,
+                           @Value("${booking.user-cache.negative-ttl-ms:30000}") long negativeTtlMs,
+                           @Value("${booking.user-cache.refresh-after-ms:60000}") long refreshAfterMs) {
+        this.webClient = webClient;
+        this.downstreamGuard = downstreamGuard;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new StatusExpiry(ttlMs, negativeTtlMs))
+                .refreshAfterWrite(refreshAfterMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build(this::loadUserStatus);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userStatus");
+    }
+
+    public boolean isActive(Long userId) {
+        Boolean active = enabled ? cache.get(userId) : loadUserStatus(userId);
+        return Boolean.TRUE.equals(active);
+    }
+
+    private Boolean loadUserStatus(Long userId) {
+        return downstreamGuard.call("user-service", () -> {
+            try {
+                ApiResponse<Boolean> response = webClient.get()
+                        .uri("/api/users/validate/{userId}", userId)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
+                        .block();
+
+                return response != null && Boolean.TRUE.equals(response.getData());
+            } catch (WebClientResponseException.NotFound e) {
+                log.info("User {} not found, caching as invalid", userId);
+                return false;
+            }
+        });
+    }
+
+    private static class StatusExpiry implements Expiry<Long, Boolean> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        StatusExpiry(long ttlMs, long negativeTtlMs) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        }
+
+        @Override
+        public long expireAfterCreate(Long userId, Boolean active, long currentTime) {
+            return Boolean.TRUE.equals(active) ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, Boolean active, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, active, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, Boolean active, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
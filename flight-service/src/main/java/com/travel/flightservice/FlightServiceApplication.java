@@ -2,10 +2,12 @@ package com.travel.flightservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FlightServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(FlightServiceApplication.class, args);
     }
-}
\ No newline at end of file
+}
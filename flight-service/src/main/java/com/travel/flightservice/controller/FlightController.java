@@ -1,18 +1,33 @@
 package com.travel.flightservice.controller;
 
 import com.travel.flightservice.dto.ApiResponse;
+import com.travel.flightservice.dto.AvailabilityBatchRequest;
+import com.travel.flightservice.dto.BulkImportResultDTO;
+import com.travel.flightservice.dto.CursorPageDTO;
+import com.travel.flightservice.dto.FareDayDTO;
 import com.travel.flightservice.dto.FlightAvailabilityDTO;
 import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.dto.FlightSearchCriteria;
+import com.travel.flightservice.dto.ItineraryDTO;
+import com.travel.flightservice.service.FlightBulkImporter;
 import com.travel.flightservice.service.FlightService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -20,6 +35,7 @@ import java.util.List;
 @Tag(name = "Flight Service", description = "Flight management APIs")
 public class FlightController {
     private final FlightService flightService;
+    private final FlightBulkImporter flightBulkImporter;
 
     @PostMapping
     @Operation(summary = "Create a new flight")
@@ -29,6 +45,15 @@ public class FlightController {
                 .body(ApiResponse.success("Flight created successfully", created));
     }
 
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import flights from a CSV (with header) or NDJSON body",
+            description = "Rows that fail validation or repeat an existing flight number are reported, the rest are imported")
+    public ResponseEntity<ApiResponse<BulkImportResultDTO>> importFlights(HttpServletRequest request) throws IOException {
+        BulkImportResultDTO result = flightBulkImporter.importFlights(request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()));
+        return ResponseEntity.ok(ApiResponse.success("Bulk import finished", result));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get flight by ID")
     public ResponseEntity<ApiResponse<FlightDTO>> getFlightById(@PathVariable Long id) {
@@ -37,12 +62,50 @@ public class FlightController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all flights")
-    public ResponseEntity<ApiResponse<List<FlightDTO>>> getAllFlights() {
-        List<FlightDTO> flights = flightService.getAllFlights();
+    @Operation(summary = "Get all flights, one page at a time")
+    public ResponseEntity<ApiResponse<CursorPageDTO<FlightDTO>>> getAllFlights(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<FlightDTO> flights = flightService.getAllFlights(cursor, limit);
         return ResponseEntity.ok(ApiResponse.success("Flights retrieved successfully", flights));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search flights by route, departure date range, price and airline")
+    public ResponseEntity<ApiResponse<CursorPageDTO<FlightDTO>>> searchFlights(
+            @ParameterObject FlightSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<FlightDTO> flights = flightService.searchFlights(criteria, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Flights retrieved successfully", flights));
+    }
+
+    @GetMapping("/routes")
+    @Operation(summary = "Find direct and connecting itineraries for a day",
+            description = "Up to maxStops connections (at most 2), cheapest or shortest first")
+    public ResponseEntity<ApiResponse<List<ItineraryDTO>>> searchRoutes(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") int maxStops,
+            @RequestParam(defaultValue = "1") int seats,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ItineraryDTO> routes = flightService.searchRoutes(from, to, date, maxStops, seats, sort, limit);
+        return ResponseEntity.ok(ApiResponse.success("Routes found", routes));
+    }
+
+    @GetMapping("/fares")
+    @Operation(summary = "Cheapest fare and seats left per day of a month on a route",
+            description = "Only days with at least one flight are listed; month is yyyy-MM")
+    public ResponseEntity<ApiResponse<List<FareDayDTO>>> getFareCalendar(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        List<FareDayDTO> fares = flightService.getFareCalendar(from, to, month);
+        return ResponseEntity.ok(ApiResponse.success("Fares retrieved", fares));
+    }
+
     @GetMapping("/{id}/availability")
     @Operation(summary = "Check flight availability")
     public ResponseEntity<ApiResponse<FlightAvailabilityDTO>> checkAvailability(@PathVariable Long id) {
@@ -50,10 +113,29 @@ public class FlightController {
         return ResponseEntity.ok(ApiResponse.success("Availability checked", availability));
     }
 
+    @PostMapping("/availability:batch")
+    @Operation(summary = "Check availability of several flights at once")
+    public ResponseEntity<ApiResponse<Map<Long, FlightAvailabilityDTO>>> checkAvailabilityBatch(
+            @Valid @RequestBody AvailabilityBatchRequest request) {
+        Map<Long, FlightAvailabilityDTO> availability = flightService.checkAvailability(request.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Availability checked", availability));
+    }
+
     @PostMapping("/{id}/reserve")
-    @Operation(summary = "Reserve a seat")
-    public ResponseEntity<ApiResponse<Boolean>> reserveSeat(@PathVariable Long id) {
-        boolean reserved = flightService.reserveSeat(id);
+    @Operation(summary = "Reserve seats", description = "All requested seats or none, in one conditional update")
+    public ResponseEntity<ApiResponse<Boolean>> reserveSeats(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "1") int seats) {
+        boolean reserved = flightService.reserveSeats(id, seats).isPresent();
         return ResponseEntity.ok(ApiResponse.success("Seat reservation result", reserved));
     }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release held seats",
+            description = "With a holdId, releasing the same hold again changes nothing")
+    public ResponseEntity<ApiResponse<Integer>> releaseSeats(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "1") int seats,
+                                                             @RequestParam(required = false) String holdId) {
+        int available = flightService.releaseSeats(id, seats, holdId);
+        return ResponseEntity.ok(ApiResponse.success("Seats released", available));
+    }
 }
\ No newline at end of file
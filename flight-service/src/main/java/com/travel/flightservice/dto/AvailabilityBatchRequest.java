@@ -0,0 +1,17 @@
+package com.travel.flightservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityBatchRequest {
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 500, message = "At most 500 ids can be checked per request")
+    private List<Long> ids;
+}
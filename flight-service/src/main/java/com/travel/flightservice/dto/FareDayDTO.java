@@ -0,0 +1,20 @@
+package com.travel.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareDayDTO {
+    private LocalDate date;
+    private boolean available;
+    // Quoted price of the cheapest flight that still has seats; null when the whole day is sold out
+    private BigDecimal minPrice;
+    private Long cheapestFlightId;
+    private int flights;
+    private int availableSeats;
+}
@@ -0,0 +1,27 @@
+package com.travel.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchCriteria {
+    private String origin;
+    private String destination;
+    private String airline;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate departureFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate departureTo;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean active;
+}
@@ -0,0 +1,21 @@
+package com.travel.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryDTO {
+    private List<FlightDTO> legs;
+    private int stops;
+    // Sum of each leg's price quoted by the pricing engine; the legs themselves carry their stored fares
+    private BigDecimal totalPrice;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private long durationMinutes;
+}
@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "flights")
+@Table(name = "flights", indexes = {
+        @Index(name = "idx_flights_departure", columnList = "departureTime, id"),
+        @Index(name = "idx_flights_route_departure", columnList = "origin, destination, departureTime, id"),
+        @Index(name = "idx_flights_airline_departure", columnList = "airline, departureTime, id"),
+        @Index(name = "idx_flights_updated_at", columnList = "updatedAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +50,11 @@ public class Flight {
     @Column(nullable = false)
     private Integer availableSeats;
 
+    // Bumped by every seat reserve and release, so in-memory copies can tell a newer count from an older one
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long seatVersion = 0L;
+
     @Column(nullable = false)
     private Boolean active = true;
 
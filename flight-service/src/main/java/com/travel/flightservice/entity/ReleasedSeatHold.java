@@ -0,0 +1,27 @@
+package com.travel.flightservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// A seat hold that was given back; a release repeated with the same hold id is a no-op
+@Entity
+@Table(name = "released_seat_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleasedSeatHold {
+    @Id
+    private String holdId;
+
+    @Column(nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    @Column(nullable = false)
+    private LocalDateTime releasedAt;
+}
@@ -2,11 +2,59 @@ package com.travel.flightservice.repository;
 
 import com.travel.flightservice.entity.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight> {
     Optional<Flight> findByFlightNumber(String flightNumber);
     boolean existsByFlightNumber(String flightNumber);
-}
\ No newline at end of file
+
+    @Query("SELECT f.flightNumber FROM Flight f WHERE f.flightNumber IN :flightNumbers")
+    List<String> findExistingFlightNumbers(@Param("flightNumbers") Collection<String> flightNumbers);
+
+    @Query("SELECT f.id AS id, f.flightNumber AS flightNumber, f.price AS price, " +
+            "f.active AS active, f.totalSeats AS totalSeats, f.availableSeats AS availableSeats, " +
+            "f.seatVersion AS seatVersion, f.departureTime AS departureTime FROM Flight f")
+    List<FlightSeatView> findAllSeatViews();
+
+    @Query("SELECT f.id AS id, f.flightNumber AS flightNumber, f.price AS price, " +
+            "f.active AS active, f.totalSeats AS totalSeats, f.availableSeats AS availableSeats, " +
+            "f.seatVersion AS seatVersion, f.departureTime AS departureTime FROM Flight f WHERE f.id = :id")
+    Optional<FlightSeatView> findSeatViewById(@Param("id") Long id);
+
+    @Query("SELECT f.id AS id, f.flightNumber AS flightNumber, f.price AS price, " +
+            "f.active AS active, f.totalSeats AS totalSeats, f.availableSeats AS availableSeats, " +
+            "f.seatVersion AS seatVersion, f.departureTime AS departureTime FROM Flight f " +
+            "WHERE f.updatedAt >= :since")
+    List<FlightSeatView> findSeatViewsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT f.id AS id, f.flightNumber AS flightNumber, f.airline AS airline, f.origin AS origin, " +
+            "f.destination AS destination, f.departureTime AS departureTime, f.arrivalTime AS arrivalTime, " +
+            "f.price AS price, f.totalSeats AS totalSeats, f.availableSeats AS availableSeats, " +
+            "f.seatVersion AS seatVersion FROM Flight f " +
+            "WHERE f.active = true AND f.departureTime >= :from")
+    List<FlightScheduleView> findActiveScheduleDepartingFrom(@Param("from") LocalDateTime from);
+
+    // Conditional decrement in one statement; empty when the flight is unknown or has too few seats left.
+    // Runs in its own transaction, since reservations are not wrapped in one
+    @Transactional
+    @Query(value = "UPDATE flights SET available_seats = available_seats - :seats, seat_version = seat_version + 1, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id = :id AND available_seats >= :seats " +
+            "RETURNING available_seats AS \"availableSeats\", seat_version AS \"seatVersion\"", nativeQuery = true)
+    Optional<FlightSeatUpdate> decrementAvailableSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    // Gives held seats back, never beyond the flight's capacity; empty when the flight is unknown
+    @Transactional
+    @Query(value = "UPDATE flights SET available_seats = LEAST(available_seats + :seats, total_seats), " +
+            "seat_version = seat_version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = :id " +
+            "RETURNING available_seats AS \"availableSeats\", seat_version AS \"seatVersion\"", nativeQuery = true)
+    Optional<FlightSeatUpdate> incrementAvailableSeats(@Param("id") Long id, @Param("seats") int seats);
+}
@@ -0,0 +1,19 @@
+package com.travel.flightservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// The columns the in-memory schedule index keeps per flight, without loading the Flight entity
+public interface FlightScheduleView {
+    Long getId();
+    String getFlightNumber();
+    String getAirline();
+    String getOrigin();
+    String getDestination();
+    LocalDateTime getDepartureTime();
+    LocalDateTime getArrivalTime();
+    BigDecimal getPrice();
+    Integer getTotalSeats();
+    Integer getAvailableSeats();
+    Long getSeatVersion();
+}
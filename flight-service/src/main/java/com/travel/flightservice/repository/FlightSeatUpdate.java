@@ -0,0 +1,7 @@
+package com.travel.flightservice.repository;
+
+// Seats left after a reserve or release, with the seat version that change was written at
+public interface FlightSeatUpdate {
+    Integer getAvailableSeats();
+    Long getSeatVersion();
+}
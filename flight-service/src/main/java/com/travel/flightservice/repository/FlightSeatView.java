@@ -0,0 +1,16 @@
+package com.travel.flightservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Narrow projection of the columns the seat inventory needs, without loading the Flight entity
+public interface FlightSeatView {
+    Long getId();
+    String getFlightNumber();
+    BigDecimal getPrice();
+    Boolean getActive();
+    Integer getTotalSeats();
+    Integer getAvailableSeats();
+    Long getSeatVersion();
+    LocalDateTime getDepartureTime();
+}
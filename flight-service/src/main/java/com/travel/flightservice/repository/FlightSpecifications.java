@@ -0,0 +1,56 @@
+package com.travel.flightservice.repository;
+
+import com.travel.flightservice.dto.FlightSearchCriteria;
+import com.travel.flightservice.entity.Flight;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FlightSpecifications {
+
+    private FlightSpecifications() {
+    }
+
+    public static Specification<Flight> matching(FlightSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getOrigin() != null) {
+                predicates.add(cb.equal(root.get("origin"), criteria.getOrigin()));
+            }
+            if (criteria.getDestination() != null) {
+                predicates.add(cb.equal(root.get("destination"), criteria.getDestination()));
+            }
+            if (criteria.getAirline() != null) {
+                predicates.add(cb.equal(root.get("airline"), criteria.getAirline()));
+            }
+            if (criteria.getDepartureFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("departureTime"),
+                        criteria.getDepartureFrom().atStartOfDay()));
+            }
+            if (criteria.getDepartureTo() != null) {
+                predicates.add(cb.lessThan(root.get("departureTime"),
+                        criteria.getDepartureTo().plusDays(1).atStartOfDay()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+            }
+            if (criteria.getActive() != null) {
+                predicates.add(cb.equal(root.get("active"), criteria.getActive()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Seek predicate for keyset pagination ordered by (departureTime, id)
+    public static Specification<Flight> after(LocalDateTime departureTime, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("departureTime"), departureTime),
+                cb.and(cb.equal(root.get("departureTime"), departureTime), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,21 @@
+package com.travel.flightservice.repository;
+
+import com.travel.flightservice.entity.ReleasedSeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReleasedSeatHoldRepository extends JpaRepository<ReleasedSeatHold, String> {
+
+    // 1 when this is the hold's first release, 0 when it was released before
+    @Modifying
+    @Query(value = "INSERT INTO released_seat_holds (hold_id, flight_id, seats, released_at) " +
+            "VALUES (:holdId, :flightId, :seats, LOCALTIMESTAMP) ON CONFLICT (hold_id) DO NOTHING",
+            nativeQuery = true)
+    int recordRelease(@Param("holdId") String holdId,
+                      @Param("flightId") Long flightId,
+                      @Param("seats") int seats);
+}
@@ -0,0 +1,107 @@
+package com.travel.flightservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Cheapest fare and seats left per route and departure day. Each day keeps its own flights, so
+ * reading a month is a pass over that route's flights in the month with no query and no scan of
+ * the schedule. Fares are quoted through the PricingEngine when the month is read, from each
+ * flight's current seat count and the read date, so a day shows the price an availability check
+ * or route search would quote for its cheapest flight.
+ *
+ * Fed by FlightScheduleIndex, which already sees every flight created, imported or evicted; the
+ * calendar therefore covers the same flights as route search. It reads seat counts from the legs
+ * themselves, which only take counts newer than their seat version, and holds none of its own.
+ */
+@Component
+public class FareCalendar {
+
+    // Summary of a route's day; minPriceCents and cheapestFlightId are unset when every flight is sold out
+    public record DayFare(LocalDate date, int flights, int availableSeats, long minPriceCents,
+                          Long cheapestFlightId) {
+        public boolean available() {
+            return cheapestFlightId != null;
+        }
+
+        public BigDecimal minPrice() {
+            return available() ? BigDecimal.valueOf(minPriceCents, 2) : null;
+        }
+    }
+
+    private final PricingEngine pricingEngine;
+    private final Map<String, NavigableMap<LocalDate, Map<Long, FlightScheduleIndex.Leg>>> routes =
+            new ConcurrentHashMap<>();
+
+    public FareCalendar(PricingEngine pricingEngine) {
+        this.pricingEngine = pricingEngine;
+    }
+
+    void add(FlightScheduleIndex.Leg leg) {
+        routes.computeIfAbsent(leg.routeKey(), key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(leg.departureDate(), date -> new ConcurrentHashMap<>())
+                .put(leg.getId(), leg);
+    }
+
+    void remove(FlightScheduleIndex.Leg leg) {
+        NavigableMap<LocalDate, Map<Long, FlightScheduleIndex.Leg>> days = routes.get(leg.routeKey());
+        Map<Long, FlightScheduleIndex.Leg> flights = days == null ? null : days.get(leg.departureDate());
+        if (flights != null) {
+            flights.remove(leg.getId(), leg);
+        }
+    }
+
+    // Departed days no longer change, so their entries are dropped with the flights
+    void evictBefore(LocalDate date) {
+        for (NavigableMap<LocalDate, Map<Long, FlightScheduleIndex.Leg>> days : routes.values()) {
+            days.headMap(date).clear();
+        }
+    }
+
+    // Days of the month with at least one flight on the route, in date order
+    public List<DayFare> month(String from, String to, YearMonth month) {
+        NavigableMap<LocalDate, Map<Long, FlightScheduleIndex.Leg>> days =
+                routes.get(FlightScheduleIndex.routeKey(from, to));
+        if (days == null) {
+            return List.of();
+        }
+        List<DayFare> fares = new ArrayList<>();
+        days.subMap(month.atDay(1), true, month.atEndOfMonth(), true).forEach((date, flights) -> {
+            if (!flights.isEmpty()) {
+                fares.add(summarize(date, flights.values()));
+            }
+        });
+        return fares;
+    }
+
+    // A route rarely has more than a handful of flights a day
+    private DayFare summarize(LocalDate date, Collection<FlightScheduleIndex.Leg> flights) {
+        int count = 0;
+        int seats = 0;
+        long minPrice = Long.MAX_VALUE;
+        Long cheapest = null;
+        for (FlightScheduleIndex.Leg leg : flights) {
+            count++;
+            int available = leg.availableSeats();
+            seats += available;
+            if (available > 0) {
+                long price = leg.quoteCents(pricingEngine);
+                if (price < minPrice) {
+                    minPrice = price;
+                    cheapest = leg.getId();
+                }
+            }
+        }
+        return new DayFare(date, count, seats, cheapest == null ? 0 : minPrice, cheapest);
+    }
+}
@@ -0,0 +1,222 @@
+package com.travel.flightservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.common.bulk.BulkRowReader;
+import com.travel.flightservice.dto.BulkImportResultDTO;
+import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.repository.FlightRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams flights from a CSV or NDJSON body into the flights table.
+ * Rows are validated like POST /api/flights, checked for duplicate flight numbers one chunk at a time
+ * with a single IN query, given ids from the table's identity sequence in one round trip,
+ * and written with JDBC batch inserts. Each chunk commits on its own. If the database rejects a
+ * chunk, for instance because a flight was created since the check, its rows are inserted one by one
+ * so only the offending rows are reported and the rest of the upload carries on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightBulkImporter {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('flights', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL = "INSERT INTO flights (id, flight_number, airline, origin, destination, " +
+            "departure_time, arrival_time, price, total_seats, available_seats, active, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final FlightRepository flightRepository;
+    private final FlightScheduleIndex flightScheduleIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${flight.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${flight.bulk.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record PendingFlight(long line, FlightDTO flight) {
+    }
+
+    public BulkImportResultDTO importFlights(InputStream body, MediaType contentType) throws IOException {
+        long started = System.currentTimeMillis();
+        Tally tally = new Tally(maxReportedErrors);
+        // Flight numbers already accepted by this upload, to catch repeats within the file
+        Set<String> seen = new HashSet<>();
+        List<PendingFlight> chunk = new ArrayList<>(batchSize);
+
+        try (BulkRowReader<FlightDTO> reader = BulkRowReader.open(body, contentType, FlightDTO.class, objectMapper)) {
+            BulkRowReader.Row<FlightDTO> row;
+            while ((row = reader.next()) != null) {
+                tally.received++;
+                if (row.error() != null) {
+                    tally.fail(row.line(), null, row.error());
+                    continue;
+                }
+                FlightDTO flight = row.value();
+                Set<ConstraintViolation<FlightDTO>> violations = validator.validate(flight);
+                if (!violations.isEmpty()) {
+                    tally.fail(row.line(), flight.getFlightNumber(), violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                if (!seen.add(flight.getFlightNumber())) {
+                    tally.duplicate(row.line(), flight.getFlightNumber(), "Flight number repeated in this upload");
+                    continue;
+                }
+                chunk.add(new PendingFlight(row.line(), flight));
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, tally);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, tally);
+        }
+
+        long elapsedMs = System.currentTimeMillis() - started;
+        log.info("Bulk import of {} flight rows: {} imported, {} duplicates, {} failed in {} ms",
+                tally.received, tally.imported, tally.duplicates, tally.failed, elapsedMs);
+        return new BulkImportResultDTO(tally.received, tally.imported, tally.duplicates, tally.failed,
+                elapsedMs, tally.errors);
+    }
+
+    private void writeChunk(List<PendingFlight> chunk, Tally tally) {
+        List<PendingFlight> fresh = withoutExisting(chunk, tally);
+        try {
+            insert(fresh);
+            tally.imported += fresh.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Bulk insert of {} flights was rejected, inserting them one by one: {}",
+                    fresh.size(), e.getMostSpecificCause().getMessage());
+            fresh.forEach(pending -> insertOne(pending, tally));
+        }
+    }
+
+    private void insertOne(PendingFlight pending, Tally tally) {
+        String flightNumber = pending.flight().getFlightNumber();
+        try {
+            insert(List.of(pending));
+            tally.imported++;
+        } catch (DuplicateKeyException e) {
+            tally.duplicate(pending.line(), flightNumber, "Flight conflicts with an existing one: "
+                    + e.getMostSpecificCause().getMessage());
+        } catch (DataIntegrityViolationException e) {
+            tally.fail(pending.line(), flightNumber, "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private List<PendingFlight> withoutExisting(List<PendingFlight> chunk, Tally tally) {
+        Set<String> existing = new HashSet<>(flightRepository.findExistingFlightNumbers(chunk.stream()
+                .map(pending -> pending.flight().getFlightNumber())
+                .collect(Collectors.toList())));
+        if (existing.isEmpty()) {
+            return chunk;
+        }
+        List<PendingFlight> fresh = new ArrayList<>(chunk.size());
+        for (PendingFlight pending : chunk) {
+            String flightNumber = pending.flight().getFlightNumber();
+            if (existing.contains(flightNumber)) {
+                tally.duplicate(pending.line(), flightNumber, "Flight number already exists: " + flightNumber);
+            } else {
+                fresh.add(pending);
+            }
+        }
+        return fresh;
+    }
+
+    private void insert(List<PendingFlight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, flights.size());
+            List<Object[]> rows = new ArrayList<>(flights.size());
+            List<FlightScheduleIndex.Leg> legs = new ArrayList<>(flights.size());
+            for (int i = 0; i < flights.size(); i++) {
+                FlightDTO flight = flights.get(i).flight();
+                boolean active = flight.getActive() != null ? flight.getActive() : Boolean.TRUE;
+                rows.add(new Object[]{
+                        ids.get(i),
+                        flight.getFlightNumber(),
+                        flight.getAirline(),
+                        flight.getOrigin(),
+                        flight.getDestination(),
+                        Timestamp.valueOf(flight.getDepartureTime()),
+                        Timestamp.valueOf(flight.getArrivalTime()),
+                        flight.getPrice(),
+                        flight.getTotalSeats(),
+                        // Same as createFlight: a new flight starts with every seat available
+                        flight.getTotalSeats(),
+                        active,
+                        now
+                });
+                if (active) {
+                    legs.add(new FlightScheduleIndex.Leg(ids.get(i), flight.getFlightNumber(), flight.getAirline(),
+                            flight.getOrigin(), flight.getDestination(), flight.getDepartureTime(),
+                            flight.getArrivalTime(), flight.getPrice(), flight.getTotalSeats(), flight.getTotalSeats(),
+                            0L));
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            flightScheduleIndex.record(legs);
+        });
+    }
+
+    private static final class Tally {
+        private final int maxErrors;
+        private final List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long failed;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String key, String message) {
+            failed++;
+            report(line, key, message);
+        }
+
+        private void duplicate(long line, String key, String message) {
+            duplicates++;
+            report(line, key, message);
+        }
+
+        private void report(long line, String key, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResultDTO.RowError(line, key, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.entity.Flight;
+import com.travel.flightservice.repository.FlightRepository;
+import com.travel.flightservice.repository.FlightScheduleView;
+import com.travel.flightservice.repository.FlightSeatUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory flight schedule for connecting-flight search. Active flights that have not departed are
+ * kept in departure-time order per origin and per origin/destination pair, so every leg of a search is
+ * a range lookup over the departures in its connection window. Routes are searched depth-first:
+ * a connection must leave between min- and max-connection after the previous arrival, no airport is
+ * visited twice, the second-to-last leg must land where a direct flight to the destination exists,
+ * and once K itineraries are known any partial route already worse than the K-th is dropped.
+ * Legs are priced through the PricingEngine as they are visited, so itineraries are ranked and
+ * reported at the same price an availability check would quote.
+ *
+ * The index is loaded at startup and kept current by FlightService and FlightBulkImporter as
+ * flights are created and seats change; changes are applied after their transaction commits. Commits
+ * can run their callbacks in any order, so every seat count carries the flight's seat version and a
+ * leg only takes a count newer than the one it has.
+ * Flights added and removed are passed on to the FareCalendar, which groups the same legs per route and day.
+ */
+@Component
+@Slf4j
+public class FlightScheduleIndex {
+
+    public static final int MAX_STOPS = 2;
+
+    private static final Comparator<Leg> BY_DEPARTURE = Comparator.comparingLong(Leg::departs)
+            .thenComparingLong(Leg::getId);
+
+    public enum SortBy {
+        PRICE, DURATION
+    }
+
+    public record Itinerary(List<Leg> legs, long priceCents, long minutes) {
+        public BigDecimal totalPrice() {
+            return BigDecimal.valueOf(priceCents, 2);
+        }
+    }
+
+    private final FlightRepository flightRepository;
+    private final FareCalendar fareCalendar;
+    private final PricingEngine pricingEngine;
+    private final long minConnectionMinutes;
+    private final long maxConnectionMinutes;
+
+    private final Map<Long, Leg> byId = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Leg>> byOrigin = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Leg>> byRoute = new ConcurrentHashMap<>();
+    // Airports with at least one flight into the keyed airport
+    private final Map<String, Set<String>> inbound = new ConcurrentHashMap<>();
+
+    public FlightScheduleIndex(FlightRepository flightRepository,
+                               FareCalendar fareCalendar,
+                               PricingEngine pricingEngine,
+                               MeterRegistry meterRegistry,
+                               @Value("${flight.routes.min-connection-ms:2700000}") long minConnectionMs,
+                               @Value("${flight.routes.max-connection-ms:43200000}") long maxConnectionMs) {
+        this.flightRepository = flightRepository;
+        this.fareCalendar = fareCalendar;
+        this.pricingEngine = pricingEngine;
+        this.minConnectionMinutes = TimeUnit.MILLISECONDS.toMinutes(minConnectionMs);
+        this.maxConnectionMinutes = TimeUnit.MILLISECONDS.toMinutes(maxConnectionMs);
+        meterRegistry.gaugeMapSize("flight.routes.indexed", Tags.empty(), byId);
+    }
+
+    @PostConstruct
+    public void load() {
+        List<FlightScheduleView> views =
+                flightRepository.findActiveScheduleDepartingFrom(LocalDate.now().atStartOfDay());
+        views.forEach(view -> put(new Leg(view.getId(), view.getFlightNumber(), view.getAirline(),
+                view.getOrigin(), view.getDestination(), view.getDepartureTime(), view.getArrivalTime(),
+                view.getPrice(), view.getTotalSeats(), view.getAvailableSeats(), view.getSeatVersion())));
+        log.info("Flight schedule index loaded {} flights", views.size());
+    }
+
+    public static Leg legOf(Flight flight) {
+        return new Leg(flight.getId(), flight.getFlightNumber(), flight.getAirline(), flight.getOrigin(),
+                flight.getDestination(), flight.getDepartureTime(), flight.getArrivalTime(), flight.getPrice(),
+                flight.getTotalSeats(), flight.getAvailableSeats(), flight.getSeatVersion());
+    }
+
+    // Adds or replaces flights once the surrounding transaction has committed
+    public void record(List<Leg> legs) {
+        afterCommit(() -> legs.forEach(this::put));
+    }
+
+    public void recordSeats(Long flightId, FlightSeatUpdate update) {
+        int availableSeats = update.getAvailableSeats();
+        long seatVersion = update.getSeatVersion();
+        // Inside the map's per-key lock, so a count never lands on a leg that put() is replacing
+        afterCommit(() -> byId.computeIfPresent(flightId, (id, leg) -> {
+            leg.updateSeats(availableSeats, seatVersion);
+            return leg;
+        }));
+    }
+
+    public void put(Leg leg) {
+        byId.compute(leg.getId(), (id, previous) -> {
+            if (previous != null) {
+                // A replacement read before the latest reserve or release keeps the newer count
+                leg.updateSeats(previous.availableSeats, previous.seatVersion());
+                unlink(previous);
+            }
+            byOrigin.computeIfAbsent(leg.getOrigin(), key -> new ConcurrentSkipListSet<>(BY_DEPARTURE)).add(leg);
+            byRoute.computeIfAbsent(routeKey(leg.getOrigin(), leg.getDestination()),
+                    key -> new ConcurrentSkipListSet<>(BY_DEPARTURE)).add(leg);
+            inbound.computeIfAbsent(leg.getDestination(), key -> ConcurrentHashMap.newKeySet()).add(leg.getOrigin());
+            fareCalendar.add(leg);
+            return leg;
+        });
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Departed flights can no longer start or continue an itinerary
+    @Scheduled(fixedDelayString = "${flight.routes.evict-interval-ms:3600000}")
+    public void evictDeparted() {
+        LocalDate today = LocalDate.now();
+        Leg cutoff = Leg.probe(minutes(today.atStartOfDay()), Long.MIN_VALUE);
+        int evicted = 0;
+        for (NavigableSet<Leg> departures : byOrigin.values()) {
+            for (Leg leg : departures.headSet(cutoff)) {
+                if (byId.remove(leg.getId(), leg)) {
+                    unlink(leg);
+                    evicted++;
+                }
+            }
+        }
+        fareCalendar.evictBefore(today);
+        if (evicted > 0) {
+            log.info("Evicted {} departed flights from the schedule index", evicted);
+        }
+    }
+
+    public List<Itinerary> search(String from, String to, LocalDate date, int maxStops, int seats,
+                                  SortBy sortBy, int limit) {
+        Search search = new Search(from, to, Math.min(maxStops, MAX_STOPS), seats, sortBy, limit);
+        // First legs depart on the requested day
+        long dayStart = minutes(date.atStartOfDay());
+        long dayEnd = dayStart + TimeUnit.DAYS.toMinutes(1) - 1;
+        NavigableSet<Leg> firstLegs = search.maxStops == 0
+                ? window(byRoute.get(routeKey(from, to)), dayStart, dayEnd)
+                : window(byOrigin.get(from), dayStart, dayEnd);
+        for (Leg leg : firstLegs) {
+            step(search, 0, leg, 0);
+        }
+        return search.results();
+    }
+
+    private void step(Search search, int depth, Leg leg, long priceSoFar) {
+        if (leg.availableSeats < search.seats) {
+            return;
+        }
+        Leg[] path = search.path;
+        path[depth] = leg;
+        long price = priceSoFar + leg.quoteCents(pricingEngine);
+        long minutes = leg.arrives - path[0].departs;
+        if (!search.canImprove(price, minutes)) {
+            return;
+        }
+        if (leg.getDestination().equals(search.to)) {
+            search.offer(depth + 1, price, minutes);
+            return;
+        }
+        int legsLeft = search.maxStops - depth;
+        if (legsLeft == 0 || search.visited(depth, leg.getDestination())) {
+            return;
+        }
+
+        long earliest = leg.arrives + minConnectionMinutes;
+        long latest = leg.arrives + maxConnectionMinutes;
+        if (legsLeft == 1) {
+            for (Leg next : window(byRoute.get(routeKey(leg.getDestination(), search.to)), earliest, latest)) {
+                step(search, depth + 1, next, price);
+            }
+            return;
+        }
+        // With MAX_STOPS = 2 one leg is left after this one, so only airports with a direct flight onward qualify
+        Set<String> intoDestination = inbound.getOrDefault(search.to, Collections.emptySet());
+        for (Leg next : window(byOrigin.get(leg.getDestination()), earliest, latest)) {
+            if (next.getDestination().equals(search.to) || intoDestination.contains(next.getDestination())) {
+                step(search, depth + 1, next, price);
+            }
+        }
+    }
+
+    // Departures between the two minutes, both included
+    private static NavigableSet<Leg> window(NavigableSet<Leg> departures, long from, long to) {
+        if (departures == null) {
+            return Collections.emptyNavigableSet();
+        }
+        return departures.subSet(Leg.probe(from, Long.MIN_VALUE), true, Leg.probe(to, Long.MAX_VALUE), true);
+    }
+
+    private void unlink(Leg leg) {
+        NavigableSet<Leg> departures = byOrigin.get(leg.getOrigin());
+        if (departures != null) {
+            departures.remove(leg);
+        }
+        NavigableSet<Leg> route = byRoute.get(routeKey(leg.getOrigin(), leg.getDestination()));
+        if (route != null) {
+            route.remove(leg);
+        }
+        fareCalendar.remove(leg);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String routeKey(String origin, String destination) {
+        return origin + '>' + destination;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long minutes(LocalDateTime time) {
+        // Schedule times carry no zone; minutes on a fixed offset keep their order and differences
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static final class Search {
+        private final String from;
+        private final String to;
+        private final int maxStops;
+        private final int seats;
+        private final SortBy sortBy;
+        private final int limit;
+        private final Leg[] path;
+        // Worst of the best itineraries found so far at the head, so it can be replaced
+        private final PriorityQueue<Itinerary> best;
+
+        private Search(String from, String to, int maxStops, int seats, SortBy sortBy, int limit) {
+            this.from = from;
+            this.to = to;
+            this.maxStops = maxStops;
+            this.seats = seats;
+            this.sortBy = sortBy;
+            this.limit = limit;
+            this.path = new Leg[maxStops + 1];
+            this.best = new PriorityQueue<>(limit + 1, order().reversed());
+        }
+
+        private Comparator<Itinerary> order() {
+            Comparator<Itinerary> byPrice = Comparator.comparingLong(Itinerary::priceCents);
+            Comparator<Itinerary> byMinutes = Comparator.comparingLong(Itinerary::minutes);
+            return sortBy == SortBy.PRICE ? byPrice.thenComparing(byMinutes) : byMinutes.thenComparing(byPrice);
+        }
+
+        // Price and duration only grow as legs are added, so a partial route that already sorts at or after
+        // the K-th result on both keys in order is done; a tie on the first key still competes on the second
+        private boolean canImprove(long price, long minutes) {
+            if (best.size() < limit) {
+                return true;
+            }
+            Itinerary worst = best.peek();
+            int first = sortBy == SortBy.PRICE
+                    ? Long.compare(price, worst.priceCents())
+                    : Long.compare(minutes, worst.minutes());
+            int second = sortBy == SortBy.PRICE
+                    ? Long.compare(minutes, worst.minutes())
+                    : Long.compare(price, worst.priceCents());
+            return first < 0 || first == 0 && second < 0;
+        }
+
+        private boolean visited(int depth, String airport) {
+            if (airport.equals(from)) {
+                return true;
+            }
+            for (int i = 0; i < depth; i++) {
+                if (path[i].getDestination().equals(airport)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offer(int legs, long price, long minutes) {
+            best.add(new Itinerary(List.of(Arrays.copyOf(path, legs)), price, minutes));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        private List<Itinerary> results() {
+            List<Itinerary> results = new ArrayList<>(best);
+            results.sort(order());
+            return results;
+        }
+    }
+
+    public static final class Leg {
+        @Getter
+        private final Long id;
+        @Getter
+        private final String flightNumber;
+        @Getter
+        private final String airline;
+        @Getter
+        private final String origin;
+        @Getter
+        private final String destination;
+        @Getter
+        private final LocalDateTime departureTime;
+        @Getter
+        private final LocalDateTime arrivalTime;
+        @Getter
+        private final BigDecimal price;
+        @Getter
+        private final Integer totalSeats;
+        private final long departs;
+        private final long arrives;
+        private final long priceCents;
+        private volatile int availableSeats;
+        // Guarded by the leg's lock; readers of availableSeats don't need it
+        private long seatVersion;
+
+        public Leg(Long id, String flightNumber, String airline, String origin, String destination,
+                   LocalDateTime departureTime, LocalDateTime arrivalTime, BigDecimal price,
+                   Integer totalSeats, Integer availableSeats, long seatVersion) {
+            this.id = id;
+            this.flightNumber = flightNumber;
+            this.airline = airline;
+            this.origin = origin;
+            this.destination = destination;
+            this.departureTime = departureTime;
+            this.arrivalTime = arrivalTime;
+            this.price = price;
+            this.totalSeats = totalSeats;
+            this.departs = minutes(departureTime);
+            this.arrives = minutes(arrivalTime);
+            this.priceCents = cents(price);
+            this.availableSeats = availableSeats;
+            this.seatVersion = seatVersion;
+        }
+
+        // Search bound only: orders by departure minute and id, nothing else is set
+        private Leg(long departs, long id) {
+            this.id = id;
+            this.departs = departs;
+            this.flightNumber = null;
+            this.airline = null;
+            this.origin = null;
+            this.destination = null;
+            this.departureTime = null;
+            this.arrivalTime = null;
+            this.price = null;
+            this.totalSeats = null;
+            this.arrives = departs;
+            this.priceCents = 0;
+        }
+
+        private static Leg probe(long departs, long id) {
+            return new Leg(departs, id);
+        }
+
+        private long departs() {
+            return departs;
+        }
+
+        // Multipliers are positive, so a route's quoted price still only grows as legs are added
+        long quoteCents(PricingEngine pricingEngine) {
+            BigDecimal quote = pricingEngine.price(price, availableSeats, totalSeats, departureDate());
+            // The static engine hands back the stored fare itself, whose cents are already known
+            return quote == price ? priceCents : cents(quote);
+        }
+
+        LocalDate departureDate() {
+            return departureTime.toLocalDate();
+        }
+
+        String routeKey() {
+            return FlightScheduleIndex.routeKey(origin, destination);
+        }
+
+        public int availableSeats() {
+            return availableSeats;
+        }
+
+        synchronized long seatVersion() {
+            return seatVersion;
+        }
+
+        // A count written at or before the version already held is stale and dropped
+        synchronized boolean updateSeats(int availableSeats, long seatVersion) {
+            if (seatVersion <= this.seatVersion) {
+                return false;
+            }
+            this.availableSeats = availableSeats;
+            this.seatVersion = seatVersion;
+            return true;
+        }
+    }
+}
@@ -1,23 +1,53 @@
 package com.travel.flightservice.service;
 
+import com.travel.flightservice.dto.CursorPageDTO;
+import com.travel.flightservice.dto.FareDayDTO;
 import com.travel.flightservice.dto.FlightAvailabilityDTO;
 import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.dto.FlightSearchCriteria;
+import com.travel.flightservice.dto.ItineraryDTO;
 import com.travel.flightservice.entity.Flight;
 import com.travel.flightservice.exception.ResourceNotFoundException;
 import com.travel.flightservice.exception.DuplicateResourceException;
 import com.travel.flightservice.repository.FlightRepository;
+import com.travel.flightservice.repository.FlightSeatUpdate;
+import com.travel.flightservice.repository.FlightSpecifications;
+import com.travel.flightservice.repository.ReleasedSeatHoldRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FlightService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort KEYSET_ORDER = Sort.by("departureTime", "id");
+    private static final int MAX_ROUTE_RESULTS = 50;
+
     private final FlightRepository flightRepository;
+    private final ReleasedSeatHoldRepository releasedSeatHoldRepository;
+    private final Optional<SeatInventoryLedger> seatLedger;
+    private final FlightScheduleIndex flightScheduleIndex;
+    private final FareCalendar fareCalendar;
+    private final PricingEngine pricingEngine;
 
     @Transactional
     public FlightDTO createFlight(FlightDTO flightDTO) {
@@ -28,6 +58,7 @@ public class FlightService {
         Flight flight = mapToEntity(flightDTO);
         flight.setAvailableSeats(flight.getTotalSeats());
         Flight savedFlight = flightRepository.save(flight);
+        flightScheduleIndex.record(List.of(FlightScheduleIndex.legOf(savedFlight)));
         log.info("Created flight: {}", savedFlight.getFlightNumber());
         return mapToDTO(savedFlight);
     }
@@ -38,51 +69,194 @@ public class FlightService {
         return mapToDTO(flight);
     }
 
-    public List<FlightDTO> getAllFlights() {
-        return flightRepository.findAll().stream()
-                .map(this::mapToDTO)
+    public CursorPageDTO<FlightDTO> getAllFlights(String cursor, int limit) {
+        return searchFlights(new FlightSearchCriteria(), cursor, limit);
+    }
+
+    public CursorPageDTO<FlightDTO> searchFlights(FlightSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Specification<Flight> spec = FlightSpecifications.matching(criteria);
+        if (cursor != null && !cursor.isBlank()) {
+            SearchCursor position = SearchCursor.decode(cursor);
+            spec = spec.and(FlightSpecifications.after(position.departureTime(), position.id()));
+        }
+
+        // Fetch one extra row to know whether another page exists, without a count query
+        List<Flight> rows = flightRepository.findBy(spec, query -> query
+                .sortBy(KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Flight> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Flight last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.getDepartureTime(), last.getId()).encode();
+        }
+
+        List<FlightDTO> items = page.stream()
+                .map(FlightService::mapToDTO)
                 .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
 
     public FlightAvailabilityDTO checkAvailability(Long id) {
+        if (seatLedger.isPresent()) {
+            SeatInventoryLedger.Slot slot = seatLedger.get().slot(id);
+            return toAvailability(id, slot.getFlightNumber(), slot.getActive(), slot.availableSeats(),
+                    slot.getTotalSeats(), slot.getPrice(), slot.getDepartureTime());
+        }
+
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+        return toAvailability(id, flight.getFlightNumber(), flight.getActive(), flight.getAvailableSeats(),
+                flight.getTotalSeats(), flight.getPrice(), flight.getDepartureTime());
+    }
 
-        log.info("Checking availability for flight: {}, Available seats: {}",
-                flight.getFlightNumber(), flight.getAvailableSeats());
+    public Map<Long, FlightAvailabilityDTO> checkAvailability(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, FlightAvailabilityDTO> result = new LinkedHashMap<>();
 
-        if (!flight.getActive()) {
-            return FlightAvailabilityDTO.unavailable(id, flight.getFlightNumber(), "Flight is inactive");
+        if (seatLedger.isPresent()) {
+            for (Long id : requested) {
+                try {
+                    SeatInventoryLedger.Slot slot = seatLedger.get().slot(id);
+                    result.put(id, toAvailability(id, slot.getFlightNumber(), slot.getActive(),
+                            slot.availableSeats(), slot.getTotalSeats(), slot.getPrice(), slot.getDepartureTime()));
+                } catch (ResourceNotFoundException e) {
+                    result.put(id, FlightAvailabilityDTO.unavailable(id, null, "Flight not found"));
+                }
+            }
+            return result;
         }
 
-        if (flight.getAvailableSeats() <= 0) {
-            return FlightAvailabilityDTO.unavailable(id, flight.getFlightNumber(), "No seats available");
+        // One IN query for the whole batch instead of a findById per flight
+        Map<Long, Flight> flights = flightRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+        for (Long id : requested) {
+            Flight flight = flights.get(id);
+            result.put(id, flight == null
+                    ? FlightAvailabilityDTO.unavailable(id, null, "Flight not found")
+                    : toAvailability(id, flight.getFlightNumber(), flight.getActive(), flight.getAvailableSeats(),
+                            flight.getTotalSeats(), flight.getPrice(), flight.getDepartureTime()));
         }
+        return result;
+    }
 
-        return FlightAvailabilityDTO.available(
-                id,
-                flight.getFlightNumber(),
-                flight.getAvailableSeats(),
-                flight.getPrice()
-        );
+    private FlightAvailabilityDTO toAvailability(Long id, String flightNumber, Boolean active, Integer availableSeats,
+                                                 Integer totalSeats, BigDecimal basePrice,
+                                                 LocalDateTime departureTime) {
+        log.info("Checking availability for flight: {}, Available seats: {}", flightNumber, availableSeats);
+
+        if (!active) {
+            return FlightAvailabilityDTO.unavailable(id, flightNumber, "Flight is inactive");
+        }
+
+        if (availableSeats <= 0) {
+            return FlightAvailabilityDTO.unavailable(id, flightNumber, "No seats available");
+        }
+
+        BigDecimal price = pricingEngine.price(basePrice, availableSeats, totalSeats, departureTime.toLocalDate());
+        return FlightAvailabilityDTO.available(id, flightNumber, availableSeats, price);
+    }
+
+    // No surrounding transaction: the ledger never touches the table here and the repository update has its own
+    public Optional<Integer> reserveSeats(Long id, int seats) {
+        if (seats < 1) {
+            throw new IllegalArgumentException("Seats to reserve must be at least 1");
+        }
+
+        Optional<FlightSeatUpdate> remaining = seatLedger.isPresent()
+                ? seatLedger.get().reserve(id, seats)
+                : flightRepository.decrementAvailableSeats(id, seats);
+        if (remaining.isPresent()) {
+            log.info("Reserved {} seat(s) for flight: {}, Remaining seats: {}", seats, id,
+                    remaining.get().getAvailableSeats());
+            flightScheduleIndex.recordSeats(id, remaining.get());
+            return remaining.map(FlightSeatUpdate::getAvailableSeats);
+        }
+
+        // Only the failure path pays for telling a missing flight apart from a sold-out one
+        if (!flightRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Flight not found with id: " + id);
+        }
+        log.info("Not enough seats on flight: {} to reserve {}", id, seats);
+        return Optional.empty();
     }
 
+    // With a hold id, only the first release of that hold gives seats back; repeats return the current count
     @Transactional
-    public boolean reserveSeat(Long id) {
-        Flight flight = flightRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+    public int releaseSeats(Long id, int seats, String holdId) {
+        if (seats < 1) {
+            throw new IllegalArgumentException("Seats to release must be at least 1");
+        }
+        if (holdId != null && releasedSeatHoldRepository.recordRelease(holdId, id, seats) == 0) {
+            log.info("Hold {} on flight {} was already released", holdId, id);
+            return seatLedger.isPresent()
+                    ? seatLedger.get().slot(id).availableSeats()
+                    : flightRepository.findById(id).map(Flight::getAvailableSeats)
+                            .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+        }
 
-        if (flight.getAvailableSeats() > 0) {
-            flight.setAvailableSeats(flight.getAvailableSeats() - 1);
-            flightRepository.save(flight);
-            log.info("Reserved seat for flight: {}, Remaining seats: {}",
-                    flight.getFlightNumber(), flight.getAvailableSeats());
-            return true;
+        FlightSeatUpdate released = seatLedger.isPresent()
+                ? seatLedger.get().release(id, seats)
+                : flightRepository.incrementAvailableSeats(id, seats)
+                        .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+        log.info("Released {} seat(s) for flight: {}, Available seats: {}", seats, id, released.getAvailableSeats());
+        flightScheduleIndex.recordSeats(id, released);
+        return released.getAvailableSeats();
+    }
+
+    public List<ItineraryDTO> searchRoutes(String from, String to, LocalDate date, int maxStops, int seats,
+                                           String sort, int limit) {
+        if (maxStops < 0 || maxStops > FlightScheduleIndex.MAX_STOPS) {
+            throw new IllegalArgumentException("maxStops must be between 0 and " + FlightScheduleIndex.MAX_STOPS);
+        }
+        if (seats < 1) {
+            throw new IllegalArgumentException("Seats must be at least 1");
         }
-        return false;
+        if (limit < 1 || limit > MAX_ROUTE_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_ROUTE_RESULTS);
+        }
+        if (from.equalsIgnoreCase(to)) {
+            throw new IllegalArgumentException("Origin and destination must differ");
+        }
+        FlightScheduleIndex.SortBy sortBy;
+        try {
+            sortBy = FlightScheduleIndex.SortBy.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sort must be 'price' or 'duration'");
+        }
+
+        List<FlightScheduleIndex.Itinerary> itineraries =
+                flightScheduleIndex.search(from, to, date, maxStops, seats, sortBy, limit);
+        log.info("Found {} routes from {} to {} on {} with up to {} stop(s)", itineraries.size(), from, to, date,
+                maxStops);
+        return itineraries.stream()
+                .map(FlightService::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<FareDayDTO> getFareCalendar(String from, String to, YearMonth month) {
+        return fareCalendar.month(from, to, month).stream()
+                .map(fare -> new FareDayDTO(fare.date(), fare.available(), fare.minPrice(), fare.cheapestFlightId(),
+                        fare.flights(), fare.availableSeats()))
+                .collect(Collectors.toList());
+    }
+
+    private static ItineraryDTO mapToDTO(FlightScheduleIndex.Itinerary itinerary) {
+        List<FlightDTO> legs = itinerary.legs().stream()
+                .map(leg -> new FlightDTO(leg.getId(), leg.getFlightNumber(), leg.getAirline(), leg.getOrigin(),
+                        leg.getDestination(), leg.getDepartureTime(), leg.getArrivalTime(), leg.getPrice(),
+                        leg.getTotalSeats(), leg.availableSeats(), true))
+                .collect(Collectors.toList());
+        return new ItineraryDTO(legs, legs.size() - 1, itinerary.totalPrice(),
+                legs.get(0).getDepartureTime(), legs.get(legs.size() - 1).getArrivalTime(), itinerary.minutes());
     }
 
-    private FlightDTO mapToDTO(Flight flight) {
+    static FlightDTO mapToDTO(Flight flight) {
         return new FlightDTO(
                 flight.getId(),
                 flight.getFlightNumber(),
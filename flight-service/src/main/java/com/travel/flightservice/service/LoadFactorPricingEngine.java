@@ -0,0 +1,28 @@
+package com.travel.flightservice.service;
+
+import com.travel.common.pricing.LoadFactorPricer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Prices a flight from the share of seats still free and the days left before departure
+@Component
+@ConditionalOnProperty(name = "flight.pricing.engine", havingValue = "load-factor")
+public class LoadFactorPricingEngine implements PricingEngine {
+
+    private final LoadFactorPricer pricer;
+
+    public LoadFactorPricingEngine(
+            @Value("${flight.pricing.load-factor-rules:0:1.50,0.10:1.30,0.25:1.15,0.50:1.00,0.80:0.90}") String loadFactorRules,
+            @Value("${flight.pricing.lead-time-rules:0:1.25,3:1.10,14:1.00,60:0.95}") String leadTimeRules) {
+        this.pricer = new LoadFactorPricer(loadFactorRules, leadTimeRules);
+    }
+
+    @Override
+    public BigDecimal price(BigDecimal basePrice, int availableSeats, int totalSeats, LocalDate departureDate) {
+        return pricer.price(basePrice, availableSeats, totalSeats, departureDate);
+    }
+}
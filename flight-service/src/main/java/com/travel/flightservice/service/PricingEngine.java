@@ -0,0 +1,10 @@
+package com.travel.flightservice.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Turns a flight's stored fare into the price quoted on availability and route search; chosen with flight.pricing.engine
+public interface PricingEngine {
+
+    BigDecimal price(BigDecimal basePrice, int availableSeats, int totalSeats, LocalDate departureDate);
+}
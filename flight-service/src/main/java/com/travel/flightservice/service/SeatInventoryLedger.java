@@ -0,0 +1,278 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.exception.ResourceNotFoundException;
+import com.travel.flightservice.repository.FlightRepository;
+import com.travel.flightservice.repository.FlightSeatUpdate;
+import com.travel.flightservice.repository.FlightSeatView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory seat counters for flash-sale load. Reservations and availability checks are served
+ * from per-flight atomic slots and the consumed seats are written back to the flights table in
+ * periodic JDBC batches, together with the ledger's seat version, so the table never pairs a count
+ * with an older version. The ledger assumes it is the only writer of available_seats, so it must
+ * only be enabled when flight-service runs as a single instance: at startup it takes a Postgres
+ * advisory lock and refuses to start if another instance holds it. Everything about a flight other
+ * than its seat count (number, fare, active flag, departure, capacity) is re-read periodically from
+ * the rows whose updated_at moved, so flights changed in the database stop being served from their
+ * old state; changes made with plain SQL must set updated_at to be picked up.
+ */
+@Component
+@ConditionalOnProperty(name = "flight.inventory.ledger.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryLedger {
+
+    // Arbitrary but fixed key, shared by every flight-service instance
+    private static final long SINGLE_INSTANCE_LOCK = 0x5EA7_1ED6L;
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+    private static final String FLUSH_SQL = "UPDATE flights SET available_seats = available_seats - ?, " +
+            "seat_version = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    // Rows are re-read from a little before the previous refresh, for transactions that committed late
+    private static final long REFRESH_OVERLAP_MS = 60_000;
+
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    // Holds the advisory lock for as long as this instance runs; closing it releases the lock
+    private Connection lockConnection;
+    private LocalDateTime refreshedFrom;
+
+    @Value("${flight.inventory.ledger.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    @PostConstruct
+    public void recover() {
+        claimSingleInstance();
+        refreshedFrom = LocalDateTime.now();
+        List<FlightSeatView> views = flightRepository.findAllSeatViews();
+        views.forEach(view -> slots.put(view.getId(), new Slot(view)));
+        log.info("Seat inventory ledger recovered {} flights from the flights table", views.size());
+    }
+
+    private void claimSingleInstance() {
+        try {
+            lockConnection = dataSource.getConnection();
+            boolean locked;
+            try (PreparedStatement statement = lockConnection.prepareStatement(LOCK_SQL)) {
+                statement.setLong(1, SINGLE_INSTANCE_LOCK);
+                try (ResultSet result = statement.executeQuery()) {
+                    locked = result.next() && result.getBoolean(1);
+                }
+            }
+            if (!locked) {
+                lockConnection.close();
+                throw new IllegalStateException("Another flight-service instance already runs the seat inventory " +
+                        "ledger; flight.inventory.ledger.enabled must only be set on a single instance");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not take the seat inventory ledger lock", e);
+        }
+    }
+
+    // Picks up fares, active flags and schedules changed in the table; seat counts stay the ledger's own
+    @Scheduled(fixedDelayString = "${flight.inventory.ledger.refresh-interval-ms:30000}")
+    public void refreshDetails() {
+        LocalDateTime started = LocalDateTime.now();
+        List<FlightSeatView> views =
+                flightRepository.findSeatViewsUpdatedSince(refreshedFrom.minus(REFRESH_OVERLAP_MS, ChronoUnit.MILLIS));
+        refreshedFrom = started;
+        int changed = 0;
+        for (FlightSeatView view : views) {
+            Slot slot = slots.get(view.getId());
+            if (slot != null && slot.refresh(view)) {
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            log.info("Refreshed details of {} flights in the seat inventory ledger", changed);
+        }
+    }
+
+    public Slot slot(Long flightId) {
+        Slot slot = slots.get(flightId);
+        if (slot != null) {
+            return slot;
+        }
+        // Flights created after startup are picked up on first access; the query runs outside the map's
+        // lock, and a slot another caller added meanwhile wins since no seats were taken from this view
+        FlightSeatView view = flightRepository.findSeatViewById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + flightId));
+        return slots.computeIfAbsent(flightId, id -> new Slot(view));
+    }
+
+    public Optional<FlightSeatUpdate> reserve(Long flightId, int seats) {
+        Slot slot = slot(flightId);
+        Seats current;
+        Seats next;
+        do {
+            current = slot.seats.get();
+            if (current.available() < seats) {
+                return Optional.empty();
+            }
+            next = current.plus(-seats);
+        } while (!slot.seats.compareAndSet(current, next));
+        return Optional.of(next);
+    }
+
+    public FlightSeatUpdate release(Long flightId, int seats) {
+        Slot slot = slot(flightId);
+        Seats current;
+        Seats next;
+        int released;
+        do {
+            current = slot.seats.get();
+            released = Math.min(seats, slot.getTotalSeats() - current.available());
+            if (released <= 0) {
+                return current;
+            }
+            next = current.plus(released);
+        } while (!slot.seats.compareAndSet(current, next));
+        return next;
+    }
+
+    @Scheduled(fixedDelayString = "${flight.inventory.ledger.flush-interval-ms:500}")
+    public synchronized int flush() {
+        List<Slot> flushedSlots = new ArrayList<>();
+        List<Seats> flushedSeats = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        slots.forEach((id, slot) -> {
+            // Count and version are read in one snapshot, so the row gets exactly the state they describe
+            Seats current = slot.seats.get();
+            if (current.version() != slot.flushed.version()) {
+                flushedSlots.add(slot);
+                flushedSeats.add(current);
+                batch.add(new Object[]{slot.flushed.available() - current.available(), current.version(), id});
+            }
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // Nothing is marked flushed, so the next flush writes these seats again along with anything newer
+            log.error("Failed to flush seat inventory for {} flights", batch.size(), e);
+            return 0;
+        }
+        for (int i = 0; i < flushedSlots.size(); i++) {
+            flushedSlots.get(i).flushed = flushedSeats.get(i);
+        }
+        log.debug("Flushed seat inventory for {} flights", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushOnShutdown) {
+            int flushed = flush();
+            log.info("Flushed seat inventory for {} flights on shutdown", flushed);
+        }
+        try {
+            lockConnection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to release the seat inventory ledger lock", e);
+        }
+    }
+
+    public static class Slot {
+        // Count and version change together in one compare-and-set
+        private final AtomicReference<Seats> seats;
+        // Last state written to the table; only flush() moves it
+        private volatile Seats flushed;
+        private volatile Details details;
+
+        Slot(FlightSeatView view) {
+            this.flushed = new Seats(view.getAvailableSeats(), view.getSeatVersion());
+            this.seats = new AtomicReference<>(flushed);
+            this.details = Details.of(view);
+        }
+
+        private boolean refresh(FlightSeatView view) {
+            Details fresh = Details.of(view);
+            if (fresh.equals(details)) {
+                return false;
+            }
+            details = fresh;
+            return true;
+        }
+
+        public String getFlightNumber() {
+            return details.flightNumber();
+        }
+
+        public BigDecimal getPrice() {
+            return details.price();
+        }
+
+        public Boolean getActive() {
+            return details.active();
+        }
+
+        public LocalDateTime getDepartureTime() {
+            return details.departureTime();
+        }
+
+        public int getTotalSeats() {
+            return details.totalSeats();
+        }
+
+        public int availableSeats() {
+            return seats.get().available();
+        }
+    }
+
+    // The ledger's seat version starts at the table's and moves on with every reserve and release it serves
+    private record Seats(int available, long version) implements FlightSeatUpdate {
+        Seats plus(int delta) {
+            return new Seats(available + delta, version + 1);
+        }
+
+        @Override
+        public Integer getAvailableSeats() {
+            return available;
+        }
+
+        @Override
+        public Long getSeatVersion() {
+            return version;
+        }
+    }
+
+    // Read together so a refresh never shows half of an old row and half of a new one
+    private record Details(String flightNumber, BigDecimal price, Boolean active, LocalDateTime departureTime,
+                           int totalSeats) {
+        static Details of(FlightSeatView view) {
+            return new Details(view.getFlightNumber(), view.getPrice(), view.getActive(), view.getDepartureTime(),
+                    view.getTotalSeats());
+        }
+    }
+}
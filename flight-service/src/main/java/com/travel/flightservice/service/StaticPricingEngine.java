@@ -0,0 +1,18 @@
+package com.travel.flightservice.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// The stored fare as is
+@Component
+@ConditionalOnProperty(name = "flight.pricing.engine", havingValue = "static", matchIfMissing = true)
+public class StaticPricingEngine implements PricingEngine {
+
+    @Override
+    public BigDecimal price(BigDecimal basePrice, int availableSeats, int totalSeats, LocalDate departureDate) {
+        return basePrice;
+    }
+}
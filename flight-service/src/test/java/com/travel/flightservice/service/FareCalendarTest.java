@@ -0,0 +1,107 @@
+package com.travel.flightservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FareCalendarTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2030, 3);
+
+    private final FareCalendar calendar = new FareCalendar(new StaticPricingEngine());
+
+    @Test
+    void daySummarizesTheCheapestFlightWithSeatsLeft() {
+        calendar.add(leg(1, 14, "300.00", 10));
+        calendar.add(leg(2, 14, "250.00", 0));
+        calendar.add(leg(3, 14, "280.00", 4));
+
+        List<FareCalendar.DayFare> fares = calendar.month("CMB", "DXB", MONTH);
+
+        assertThat(fares).hasSize(1);
+        FareCalendar.DayFare day = fares.get(0);
+        assertThat(day.date()).isEqualTo(MONTH.atDay(14));
+        assertThat(day.flights()).isEqualTo(3);
+        assertThat(day.availableSeats()).isEqualTo(14);
+        assertThat(day.cheapestFlightId()).isEqualTo(3L);
+        assertThat(day.minPrice()).isEqualByComparingTo("280.00");
+    }
+
+    @Test
+    void soldOutDayIsListedWithoutAFare() {
+        calendar.add(leg(1, 14, "300.00", 0));
+
+        FareCalendar.DayFare day = calendar.month("CMB", "DXB", MONTH).get(0);
+
+        assertThat(day.available()).isFalse();
+        assertThat(day.minPrice()).isNull();
+        assertThat(day.cheapestFlightId()).isNull();
+    }
+
+    @Test
+    void faresAreQuotedThroughThePricingEngine() {
+        // Nearly full flights cost double, so the lower base fare is no longer the cheapest
+        PricingEngine scarcity = (basePrice, available, total, date) ->
+                available * 5 < total ? basePrice.multiply(BigDecimal.valueOf(2)) : basePrice;
+        FareCalendar quoted = new FareCalendar(scarcity);
+        quoted.add(leg(1, 14, "200.00", 1));
+        quoted.add(leg(2, 14, "300.00", 10));
+
+        FareCalendar.DayFare day = quoted.month("CMB", "DXB", MONTH).get(0);
+
+        assertThat(day.cheapestFlightId()).isEqualTo(2L);
+        assertThat(day.minPrice()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void seatChangesOnALegShowOnTheNextRead() {
+        FlightScheduleIndex.Leg leg = leg(1, 14, "300.00", 10);
+        calendar.add(leg);
+
+        leg.updateSeats(0, 1);
+
+        FareCalendar.DayFare day = calendar.month("CMB", "DXB", MONTH).get(0);
+        assertThat(day.available()).isFalse();
+        assertThat(day.availableSeats()).isZero();
+    }
+
+    @Test
+    void monthOnlyListsItsOwnDaysInDateOrder() {
+        calendar.add(leg(1, 31, "300.00", 10));
+        calendar.add(leg(2, 1, "300.00", 10));
+        calendar.add(new FlightScheduleIndex.Leg(3L, "TA3", "Travel Air", "CMB", "DXB",
+                MONTH.plusMonths(1).atDay(1).atTime(8, 0), MONTH.plusMonths(1).atDay(1).atTime(12, 0),
+                new BigDecimal("100.00"), 10, 10, 0L));
+
+        assertThat(calendar.month("CMB", "DXB", MONTH))
+                .extracting(FareCalendar.DayFare::date)
+                .containsExactly(MONTH.atDay(1), MONTH.atDay(31));
+        assertThat(calendar.month("DXB", "CMB", MONTH)).isEmpty();
+    }
+
+    @Test
+    void removedAndEvictedFlightsDisappear() {
+        FlightScheduleIndex.Leg removed = leg(1, 14, "300.00", 10);
+        calendar.add(removed);
+        calendar.add(leg(2, 10, "300.00", 10));
+        calendar.add(leg(3, 20, "300.00", 10));
+
+        calendar.remove(removed);
+        calendar.evictBefore(MONTH.atDay(15));
+
+        assertThat(calendar.month("CMB", "DXB", MONTH))
+                .extracting(FareCalendar.DayFare::date)
+                .containsExactly(MONTH.atDay(20));
+    }
+
+    private static FlightScheduleIndex.Leg leg(long id, int day, String price, int availableSeats) {
+        LocalDate date = MONTH.atDay(day);
+        return new FlightScheduleIndex.Leg(id, "TA" + id, "Travel Air", "CMB", "DXB", date.atTime(8, 0),
+                date.atTime(12, 0), new BigDecimal(price), 10, availableSeats, 0L);
+    }
+}
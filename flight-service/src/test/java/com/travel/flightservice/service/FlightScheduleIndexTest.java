@@ -0,0 +1,173 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.repository.FlightSeatUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightScheduleIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 14);
+
+    private FlightScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        StaticPricingEngine pricingEngine = new StaticPricingEngine();
+        index = new FlightScheduleIndex(null, new FareCalendar(pricingEngine), pricingEngine, new SimpleMeterRegistry(),
+                TimeUnit.MINUTES.toMillis(45), TimeUnit.HOURS.toMillis(12));
+    }
+
+    @Test
+    void maxStopsZeroOnlyReturnsDirectFlights() {
+        index.put(leg(1, "CMB", "DXB", "08:00", 240, "400.00"));
+        index.put(leg(2, "CMB", "DOH", "06:00", 180, "150.00"));
+        index.put(leg(3, "DOH", "DXB", "10:00", 60, "100.00"));
+
+        assertThat(ids(search("CMB", "DXB", 0, FlightScheduleIndex.SortBy.PRICE, 10))).containsExactly(List.of(1L));
+    }
+
+    @Test
+    void connectionsMustLeaveWithinTheConnectionWindow() {
+        // CMB-DOH lands at 09:00
+        index.put(leg(1, "CMB", "DOH", "06:00", 180, "150.00"));
+        index.put(leg(2, "DOH", "DXB", "09:30", 60, "100.00"));
+        index.put(leg(3, "DOH", "DXB", "09:45", 60, "110.00"));
+        index.put(leg(4, "DOH", "DXB", "21:00", 60, "120.00"));
+        index.put(leg(5, "DOH", "DXB", "21:01", 60, "90.00"));
+
+        assertThat(ids(search("CMB", "DXB", 1, FlightScheduleIndex.SortBy.PRICE, 10)))
+                .containsExactly(List.of(1L, 3L), List.of(1L, 4L));
+    }
+
+    @Test
+    void secondStopIsOnlyFoundWithMaxStopsTwo() {
+        index.put(leg(1, "CMB", "DEL", "06:00", 180, "100.00"));
+        index.put(leg(2, "DEL", "DOH", "10:00", 240, "100.00"));
+        index.put(leg(3, "DOH", "DXB", "15:00", 60, "100.00"));
+
+        assertThat(search("CMB", "DXB", 1, FlightScheduleIndex.SortBy.PRICE, 10)).isEmpty();
+        List<FlightScheduleIndex.Itinerary> routes = search("CMB", "DXB", 2, FlightScheduleIndex.SortBy.PRICE, 10);
+        assertThat(ids(routes)).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(routes.get(0).totalPrice()).isEqualByComparingTo("300.00");
+        assertThat(routes.get(0).minutes()).isEqualTo(600);
+    }
+
+    @Test
+    void routesNeverReturnToAnAirportAlreadyVisited() {
+        index.put(leg(1, "CMB", "DOH", "06:00", 120, "100.00"));
+        index.put(leg(2, "DOH", "CMB", "09:00", 120, "100.00"));
+        index.put(leg(3, "CMB", "DXB", "12:00", 240, "100.00"));
+
+        assertThat(search("CMB", "DXB", 2, FlightScheduleIndex.SortBy.PRICE, 10))
+                .extracting(itinerary -> itinerary.legs().get(0).getId())
+                .containsExactly(3L);
+    }
+
+    @Test
+    void sortsByPriceOrByDuration() {
+        // Expensive and direct, or cheap with a long layover
+        index.put(leg(1, "CMB", "DXB", "08:00", 240, "500.00"));
+        index.put(leg(2, "CMB", "DOH", "06:00", 180, "150.00"));
+        index.put(leg(3, "DOH", "DXB", "15:00", 60, "100.00"));
+
+        assertThat(ids(search("CMB", "DXB", 1, FlightScheduleIndex.SortBy.PRICE, 10)))
+                .containsExactly(List.of(2L, 3L), List.of(1L));
+        assertThat(ids(search("CMB", "DXB", 1, FlightScheduleIndex.SortBy.DURATION, 10)))
+                .containsExactly(List.of(1L), List.of(2L, 3L));
+        assertThat(ids(search("CMB", "DXB", 1, FlightScheduleIndex.SortBy.DURATION, 1)))
+                .containsExactly(List.of(1L));
+    }
+
+    @Test
+    void equalPricesAreRankedByDurationAndAllKept() {
+        // Same fare; the earlier departure is found first but takes longer
+        index.put(leg(1, "CMB", "DXB", "06:00", 360, "300.00"));
+        index.put(leg(2, "CMB", "DXB", "09:00", 240, "300.00"));
+        index.put(leg(3, "CMB", "DXB", "12:00", 300, "300.00"));
+
+        assertThat(ids(search("CMB", "DXB", 0, FlightScheduleIndex.SortBy.PRICE, 3)))
+                .containsExactly(List.of(2L), List.of(3L), List.of(1L));
+        assertThat(ids(search("CMB", "DXB", 0, FlightScheduleIndex.SortBy.PRICE, 1)))
+                .containsExactly(List.of(2L));
+    }
+
+    @Test
+    void legsWithoutEnoughSeatsAreSkipped() {
+        index.put(new FlightScheduleIndex.Leg(1L, "TA1", "Travel Air", "CMB", "DXB", at("08:00"), at("12:00"),
+                new BigDecimal("100.00"), 10, 2, 0L));
+        index.put(leg(2, "CMB", "DXB", "09:00", 240, "200.00"));
+
+        assertThat(ids(index.search("CMB", "DXB", DAY, 0, 3, FlightScheduleIndex.SortBy.PRICE, 10)))
+                .containsExactly(List.of(2L));
+    }
+
+    @Test
+    void staleSeatCountsArrivingAfterNewerOnesAreIgnored() {
+        index.put(leg(1, "CMB", "DXB", "08:00", 240, "100.00"));
+
+        index.recordSeats(1L, new SeatUpdate(2, 7));
+        index.recordSeats(1L, new SeatUpdate(9, 6));
+        index.recordSeats(1L, new SeatUpdate(8, 7));
+
+        assertThat(index.search("CMB", "DXB", DAY, 0, 3, FlightScheduleIndex.SortBy.PRICE, 10)).isEmpty();
+        assertThat(index.search("CMB", "DXB", DAY, 0, 2, FlightScheduleIndex.SortBy.PRICE, 10)).hasSize(1);
+    }
+
+    @Test
+    void replacingALegKeepsANewerSeatCount() {
+        index.put(leg(1, "CMB", "DXB", "08:00", 240, "100.00"));
+        index.recordSeats(1L, new SeatUpdate(1, 4));
+
+        // Re-read from the table before the reservation above was written
+        index.put(leg(1, "CMB", "DXB", "08:00", 240, "120.00"));
+
+        List<FlightScheduleIndex.Itinerary> routes = search("CMB", "DXB", 0, FlightScheduleIndex.SortBy.PRICE, 10);
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).totalPrice()).isEqualByComparingTo("120.00");
+        assertThat(routes.get(0).legs().get(0).availableSeats()).isEqualTo(1);
+    }
+
+    private List<FlightScheduleIndex.Itinerary> search(String from, String to, int maxStops,
+                                                       FlightScheduleIndex.SortBy sortBy, int limit) {
+        return index.search(from, to, DAY, maxStops, 1, sortBy, limit);
+    }
+
+    private static List<List<Long>> ids(List<FlightScheduleIndex.Itinerary> itineraries) {
+        return itineraries.stream()
+                .map(itinerary -> itinerary.legs().stream().map(FlightScheduleIndex.Leg::getId).toList())
+                .toList();
+    }
+
+    private static FlightScheduleIndex.Leg leg(long id, String from, String to, String departs, int minutes,
+                                               String price) {
+        LocalDateTime departure = at(departs);
+        return new FlightScheduleIndex.Leg(id, "TA" + id, "Travel Air", from, to, departure,
+                departure.plusMinutes(minutes), new BigDecimal(price), 10, 10, 0L);
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(LocalTime.parse(time));
+    }
+
+    private record SeatUpdate(int available, long version) implements FlightSeatUpdate {
+        @Override
+        public Integer getAvailableSeats() {
+            return available;
+        }
+
+        @Override
+        public Long getSeatVersion() {
+            return version;
+        }
+    }
+}
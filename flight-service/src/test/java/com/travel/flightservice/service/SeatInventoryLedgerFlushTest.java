@@ -0,0 +1,142 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.repository.FlightRepository;
+import com.travel.flightservice.repository.FlightSeatView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryLedgerFlushTest {
+
+    private static final long FLIGHT_ID = 1L;
+    private static final long VERSION = 40L;
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Connection lockConnection = mock(Connection.class);
+    private SeatInventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        FlightSeatView view = view();
+        when(dataSource.getConnection()).thenReturn(lockConnection);
+        when(lockConnection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getBoolean(1)).thenReturn(true);
+        when(flightRepository.findAllSeatViews()).thenReturn(List.of(view));
+
+        ledger = new SeatInventoryLedger(flightRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), dataSource);
+        ledger.recover();
+    }
+
+    @Test
+    void flushWritesTheNetChangeWithTheLatestVersionOnce() {
+        ledger.reserve(FLIGHT_ID, 3);
+        ledger.reserve(FLIGHT_ID, 2);
+        ledger.release(FLIGHT_ID, 1);
+
+        assertThat(ledger.flush()).isEqualTo(1);
+        assertThat(ledger.flush()).isZero();
+
+        assertThat(flushedRows(1)).containsExactly(List.of(4, VERSION + 3, FLIGHT_ID));
+    }
+
+    @Test
+    void failedFlushIsWrittenInFullByTheNextOne() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(new int[]{1});
+        ledger.reserve(FLIGHT_ID, 3);
+
+        assertThat(ledger.flush()).isZero();
+        ledger.reserve(FLIGHT_ID, 2);
+        assertThat(ledger.flush()).isEqualTo(1);
+
+        List<List<Object>> rows = flushedRows(2);
+        assertThat(rows.get(0)).containsExactly(3, VERSION + 1, FLIGHT_ID);
+        assertThat(rows.get(1)).containsExactly(5, VERSION + 2, FLIGHT_ID);
+    }
+
+    @Test
+    void reserveAndReleaseThatCancelOutStillWriteTheVersion() {
+        ledger.reserve(FLIGHT_ID, 2);
+        ledger.release(FLIGHT_ID, 2);
+
+        ledger.flush();
+
+        assertThat(flushedRows(1)).containsExactly(List.of(0, VERSION + 2, FLIGHT_ID));
+    }
+
+    @Test
+    void shutdownFlushesBeforeReleasingTheLock() throws SQLException {
+        ReflectionTestUtils.setField(ledger, "flushOnShutdown", true);
+        ledger.reserve(FLIGHT_ID, 3);
+
+        ledger.shutdown();
+
+        assertThat(flushedRows(1)).containsExactly(List.of(3, VERSION + 1, FLIGHT_ID));
+        verify(lockConnection).close();
+    }
+
+    @Test
+    void shutdownWithoutFlushOnlyReleasesTheLock() throws SQLException {
+        ledger.reserve(FLIGHT_ID, 3);
+
+        ledger.shutdown();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(lockConnection).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> flushedRows(int flushes) {
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(flushes)).batchUpdate(anyString(), batches.capture());
+        return batches.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(Arrays::asList)
+                .toList();
+    }
+
+    private static FlightSeatView view() {
+        FlightSeatView view = mock(FlightSeatView.class);
+        when(view.getId()).thenReturn(FLIGHT_ID);
+        when(view.getFlightNumber()).thenReturn("TA1");
+        when(view.getPrice()).thenReturn(new BigDecimal("300.00"));
+        when(view.getActive()).thenReturn(true);
+        when(view.getTotalSeats()).thenReturn(10);
+        when(view.getAvailableSeats()).thenReturn(10);
+        when(view.getSeatVersion()).thenReturn(VERSION);
+        when(view.getDepartureTime()).thenReturn(LocalDateTime.of(2030, 3, 14, 8, 0));
+        return view;
+    }
+}
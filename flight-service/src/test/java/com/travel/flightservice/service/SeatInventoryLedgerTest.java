@@ -0,0 +1,98 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.repository.FlightRepository;
+import com.travel.flightservice.repository.FlightSeatUpdate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.show-sql=false", "flight.inventory.ledger.enabled=true"})
+@Testcontainers(disabledWithoutDocker = true)
+class SeatInventoryLedgerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private SeatInventoryLedger ledger;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void secondLedgerOnTheSameDatabaseRefusesToStart() {
+        SeatInventoryLedger second = new SeatInventoryLedger(flightRepository, jdbcTemplate, transactionTemplate,
+                dataSource);
+
+        assertThatThrownBy(second::recover).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("single instance");
+    }
+
+    @Test
+    void refreshPicksUpFareAndActiveChangesButKeepsTheLedgerSeatCount() {
+        Long flightId = createFlight(10);
+        assertThat(ledger.reserve(flightId, 3)).map(FlightSeatUpdate::getAvailableSeats).contains(7);
+
+        jdbcTemplate.update("UPDATE flights SET price = 99.00, active = false, updated_at = now() WHERE id = ?",
+                flightId);
+        ledger.refreshDetails();
+
+        SeatInventoryLedger.Slot slot = ledger.slot(flightId);
+        assertThat(slot.getPrice()).isEqualByComparingTo("99.00");
+        assertThat(slot.getActive()).isFalse();
+        assertThat(slot.availableSeats()).isEqualTo(7);
+        assertThat(flightService.checkAvailability(flightId).isAvailable()).isFalse();
+    }
+
+    @Test
+    void flushWritesTheSeatCountTogetherWithTheLedgerVersion() {
+        Long flightId = createFlight(10);
+        long version = flightRepository.findById(flightId).orElseThrow().getSeatVersion();
+        ledger.reserve(flightId, 3);
+        ledger.reserve(flightId, 2);
+        FlightSeatUpdate latest = ledger.release(flightId, 1);
+
+        ledger.flush();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT available_seats, seat_version FROM flights WHERE id = ?", flightId))
+                .containsEntry("available_seats", 6)
+                .containsEntry("seat_version", version + 3);
+        assertThat(latest.getSeatVersion()).isEqualTo(version + 3);
+    }
+
+    private Long createFlight(int seats) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(30).withNano(0);
+        FlightDTO flight = new FlightDTO(null, "LG" + UUID.randomUUID().toString().substring(0, 8), "Travel Air",
+                "CMB", "DXB", departure, departure.plusHours(4), new BigDecimal("349.99"), seats, null, null);
+        return flightService.createFlight(flight).getId();
+    }
+}
@@ -0,0 +1,100 @@
+package com.travel.flightservice.service;
+
+import com.travel.flightservice.dto.FlightDTO;
+import com.travel.flightservice.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many reserves racing on one flight must sell exactly its seats, through the conditional UPDATE on real Postgres
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.show-sql=false", "flight.inventory.ledger.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class SeatReservationConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int RESERVES = 5000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Test
+    void singleSeatReservesSellExactlyTheCapacity() throws Exception {
+        Long flightId = createFlight(150);
+
+        List<Integer> sold = race(() -> flightService.reserveSeats(flightId, 1).isPresent() ? 1 : 0);
+
+        assertThat(sold.stream().mapToInt(Integer::intValue).sum()).isEqualTo(150);
+        assertThat(flightRepository.findById(flightId).orElseThrow().getAvailableSeats()).isZero();
+    }
+
+    @Test
+    void groupReservesNeverOversell() throws Exception {
+        Long flightId = createFlight(500);
+
+        List<Integer> sold = race(() -> {
+            int seats = ThreadLocalRandom.current().nextInt(1, 5);
+            return flightService.reserveSeats(flightId, seats).isPresent() ? seats : 0;
+        });
+
+        int available = flightRepository.findById(flightId).orElseThrow().getAvailableSeats();
+        assertThat(available).isBetween(0, 3);
+        assertThat(sold.stream().mapToInt(Integer::intValue).sum()).isEqualTo(500 - available);
+    }
+
+    // Runs RESERVES calls on THREADS threads, all released at once; each call returns the seats it got
+    private List<Integer> race(Callable<Integer> reserve) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>(RESERVES);
+            for (int i = 0; i < RESERVES; i++) {
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    return reserve.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> sold = new ArrayList<>(RESERVES);
+            for (Future<Integer> call : calls) {
+                sold.add(call.get(60, TimeUnit.SECONDS));
+            }
+            return sold;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long createFlight(int seats) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(30).withNano(0);
+        FlightDTO flight = new FlightDTO(null, "CT" + UUID.randomUUID().toString().substring(0, 8), "Travel Air",
+                "CMB", "DXB", departure, departure.plusHours(4), new BigDecimal("349.99"), seats, null, null);
+        return flightService.createFlight(flight).getId();
+    }
+}
@@ -1,18 +1,29 @@
 package com.travel.hotelservice.controller;
 
 import com.travel.hotelservice.dto.ApiResponse;
+import com.travel.hotelservice.dto.AvailabilityBatchRequest;
+import com.travel.hotelservice.dto.BulkImportResultDTO;
+import com.travel.hotelservice.dto.CursorPageDTO;
 import com.travel.hotelservice.dto.HotelAvailabilityDTO;
 import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.dto.HotelSearchCriteria;
+import com.travel.hotelservice.service.HotelBulkImporter;
 import com.travel.hotelservice.service.HotelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/hotels")
@@ -20,6 +31,7 @@ import java.util.List;
 @Tag(name = "Hotel Service", description = "Hotel management APIs")
 public class HotelController {
     private final HotelService hotelService;
+    private final HotelBulkImporter hotelBulkImporter;
 
     @PostMapping
     @Operation(summary = "Create a new hotel")
@@ -29,6 +41,15 @@ public class HotelController {
                 .body(ApiResponse.success("Hotel created successfully", created));
     }
 
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import hotels from a CSV (with header) or NDJSON body",
+            description = "Rows that fail validation or repeat an existing name, location and address are reported, the rest are imported")
+    public ResponseEntity<ApiResponse<BulkImportResultDTO>> importHotels(HttpServletRequest request) throws IOException {
+        BulkImportResultDTO result = hotelBulkImporter.importHotels(request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()));
+        return ResponseEntity.ok(ApiResponse.success("Bulk import finished", result));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get hotel by ID")
     public ResponseEntity<ApiResponse<HotelDTO>> getHotelById(@PathVariable Long id) {
@@ -37,23 +58,65 @@ public class HotelController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all hotels")
-    public ResponseEntity<ApiResponse<List<HotelDTO>>> getAllHotels() {
-        List<HotelDTO> hotels = hotelService.getAllHotels();
+    @Operation(summary = "Get all hotels, one page at a time")
+    public ResponseEntity<ApiResponse<CursorPageDTO<HotelDTO>>> getAllHotels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<HotelDTO> hotels = hotelService.getAllHotels(cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Hotels retrieved successfully", hotels));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search hotels by location, star rating, price and availability")
+    public ResponseEntity<ApiResponse<CursorPageDTO<HotelDTO>>> searchHotels(
+            @ParameterObject HotelSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<HotelDTO> hotels = hotelService.searchHotels(criteria, cursor, limit);
         return ResponseEntity.ok(ApiResponse.success("Hotels retrieved successfully", hotels));
     }
 
     @GetMapping("/{id}/availability")
-    @Operation(summary = "Check hotel availability")
-    public ResponseEntity<ApiResponse<HotelAvailabilityDTO>> checkAvailability(@PathVariable Long id) {
-        HotelAvailabilityDTO availability = hotelService.checkAvailability(id);
+    @Operation(summary = "Check hotel availability",
+            description = "With checkIn and checkOut, the rooms free on every night of that stay")
+    public ResponseEntity<ApiResponse<HotelAvailabilityDTO>> checkAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        HotelAvailabilityDTO availability = hotelService.checkAvailability(id, checkIn, checkOut);
+        return ResponseEntity.ok(ApiResponse.success("Availability checked", availability));
+    }
+
+    @PostMapping("/availability:batch")
+    @Operation(summary = "Check availability of several hotels at once")
+    public ResponseEntity<ApiResponse<Map<Long, HotelAvailabilityDTO>>> checkAvailabilityBatch(
+            @Valid @RequestBody AvailabilityBatchRequest request) {
+        Map<Long, HotelAvailabilityDTO> availability = hotelService.checkAvailability(request.getIds());
         return ResponseEntity.ok(ApiResponse.success("Availability checked", availability));
     }
 
     @PostMapping("/{id}/reserve")
-    @Operation(summary = "Reserve a room")
-    public ResponseEntity<ApiResponse<Boolean>> reserveRoom(@PathVariable Long id) {
-        boolean reserved = hotelService.reserveRoom(id);
+    @Operation(summary = "Reserve rooms",
+            description = "All requested rooms or none; with checkIn and checkOut, for every night of that stay or for none")
+    public ResponseEntity<ApiResponse<Boolean>> reserveRooms(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int rooms,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        boolean reserved = hotelService.reserveRooms(id, rooms, checkIn, checkOut);
         return ResponseEntity.ok(ApiResponse.success("Room reservation result", reserved));
     }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release held rooms",
+            description = "With a holdId, releasing the same hold again changes nothing")
+    public ResponseEntity<ApiResponse<Integer>> releaseRooms(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int rooms,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) String holdId) {
+        int available = hotelService.releaseRooms(id, rooms, checkIn, checkOut, holdId);
+        return ResponseEntity.ok(ApiResponse.success("Rooms released", available));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.travel.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private long elapsedMs;
+    // First rows that were not imported, up to the configured limit
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String key;
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.travel.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSearchCriteria {
+    private String location;
+    private Integer minStarRating;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private boolean availableOnly;
+    // address and amenities are only selected when requested
+    private boolean includeDetails;
+}
@@ -8,7 +8,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+        @Index(name = "idx_hotels_location_id", columnList = "location, id"),
+        @Index(name = "idx_hotels_location_rating_id", columnList = "location, starRating, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +38,6 @@ public class Hotel {
     @Column(nullable = false)
     private Integer totalRooms;
 
-    @Column(nullable = false)
-    private Integer availableRooms;
-
     private String amenities;
 
     @Column(nullable = false)
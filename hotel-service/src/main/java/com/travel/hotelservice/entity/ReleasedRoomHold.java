@@ -0,0 +1,27 @@
+package com.travel.hotelservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// A room hold that was given back; a release repeated with the same hold id is a no-op
+@Entity
+@Table(name = "released_room_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleasedRoomHold {
+    @Id
+    private String holdId;
+
+    @Column(nullable = false)
+    private Long hotelId;
+
+    @Column(nullable = false)
+    private Integer rooms;
+
+    @Column(nullable = false)
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,34 @@
+package com.travel.hotelservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Rooms left at a hotel for one night; a night without a row still has all of the hotel's rooms
+@Entity
+@Table(name = "room_nights")
+@IdClass(RoomNight.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomNight {
+    @Id
+    private Long hotelId;
+
+    @Id
+    private LocalDate night;
+
+    @Column(nullable = false)
+    private Integer availableRooms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long hotelId;
+        private LocalDate night;
+    }
+}
@@ -0,0 +1,8 @@
+package com.travel.hotelservice.repository;
+
+// The columns that identify a hotel in a bulk import, without loading the Hotel entity
+public interface HotelKeyView {
+    String getName();
+    String getLocation();
+    String getAddress();
+}
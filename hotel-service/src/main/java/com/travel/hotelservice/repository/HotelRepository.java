@@ -2,10 +2,19 @@ package com.travel.hotelservice.repository;
 
 import com.travel.hotelservice.entity.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, HotelSearchRepository {
     List<Hotel> findByLocation(String location);
+
+    // Candidates for duplicate detection; callers match the exact name, location and address themselves
+    @Query("SELECT h.name AS name, h.location AS location, h.address AS address FROM Hotel h " +
+            "WHERE h.name IN :names AND h.location IN :locations")
+    List<HotelKeyView> findKeysByNameInAndLocationIn(@Param("names") Collection<String> names,
+                                                     @Param("locations") Collection<String> locations);
 }
\ No newline at end of file
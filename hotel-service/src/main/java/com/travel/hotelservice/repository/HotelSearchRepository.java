@@ -0,0 +1,9 @@
+package com.travel.hotelservice.repository;
+
+import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.dto.HotelSearchCriteria;
+import java.util.List;
+
+public interface HotelSearchRepository {
+    List<HotelDTO> search(HotelSearchCriteria criteria, Long afterId, int limit);
+}
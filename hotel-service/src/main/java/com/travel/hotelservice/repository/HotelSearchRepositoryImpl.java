@@ -0,0 +1,104 @@
+package com.travel.hotelservice.repository;
+
+import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.dto.HotelSearchCriteria;
+import com.travel.hotelservice.entity.Hotel;
+import com.travel.hotelservice.entity.RoomNight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Column-level projection straight into HotelDTO, ordered by id for keyset pagination.
+// availableRooms is tonight's row in room_nights, or every room when tonight has no row yet.
+public class HotelSearchRepositoryImpl implements HotelSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<HotelDTO> search(HotelSearchCriteria criteria, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Hotel> hotel = query.from(Hotel.class);
+
+        Subquery<Integer> tonight = query.subquery(Integer.class);
+        Root<RoomNight> night = tonight.from(RoomNight.class);
+        tonight.select(night.get("availableRooms"))
+                .where(cb.equal(night.get("hotelId"), hotel.get("id")),
+                        cb.equal(night.get("night"), LocalDate.now()));
+        Expression<Integer> availableRooms = cb.coalesce(tonight, hotel.get("totalRooms"));
+
+        List<Selection<?>> columns = new ArrayList<>(List.of(
+                hotel.get("id").alias("id"),
+                hotel.get("name").alias("name"),
+                hotel.get("location").alias("location"),
+                hotel.get("starRating").alias("starRating"),
+                hotel.get("pricePerNight").alias("pricePerNight"),
+                hotel.get("totalRooms").alias("totalRooms"),
+                availableRooms.alias("availableRooms"),
+                hotel.get("active").alias("active")));
+        if (criteria.isIncludeDetails()) {
+            columns.add(hotel.get("address").alias("address"));
+            columns.add(hotel.get("amenities").alias("amenities"));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getLocation() != null) {
+            predicates.add(cb.equal(hotel.get("location"), criteria.getLocation()));
+        }
+        if (criteria.getMinStarRating() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(hotel.get("starRating"), criteria.getMinStarRating()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(hotel.get("pricePerNight"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(hotel.get("pricePerNight"), criteria.getMaxPrice()));
+        }
+        if (criteria.isAvailableOnly()) {
+            predicates.add(cb.greaterThan(availableRooms, 0));
+            predicates.add(cb.isTrue(hotel.get("active")));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(hotel.get("id"), afterId));
+        }
+
+        query.multiselect(columns)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(hotel.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> toDTO(row, criteria.isIncludeDetails()))
+                .toList();
+    }
+
+    private HotelDTO toDTO(Tuple row, boolean includeDetails) {
+        return new HotelDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("location", String.class),
+                includeDetails ? row.get("address", String.class) : null,
+                row.get("starRating", Integer.class),
+                row.get("pricePerNight", BigDecimal.class),
+                row.get("totalRooms", Integer.class),
+                row.get("availableRooms", Integer.class),
+                includeDetails ? row.get("amenities", String.class) : null,
+                row.get("active", Boolean.class)
+        );
+    }
+}
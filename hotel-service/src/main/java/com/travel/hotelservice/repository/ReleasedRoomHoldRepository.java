@@ -0,0 +1,21 @@
+package com.travel.hotelservice.repository;
+
+import com.travel.hotelservice.entity.ReleasedRoomHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReleasedRoomHoldRepository extends JpaRepository<ReleasedRoomHold, String> {
+
+    // 1 when this is the hold's first release, 0 when it was released before
+    @Modifying
+    @Query(value = "INSERT INTO released_room_holds (hold_id, hotel_id, rooms, released_at) " +
+            "VALUES (:holdId, :hotelId, :rooms, LOCALTIMESTAMP) ON CONFLICT (hold_id) DO NOTHING",
+            nativeQuery = true)
+    int recordRelease(@Param("holdId") String holdId,
+                      @Param("hotelId") Long hotelId,
+                      @Param("rooms") int rooms);
+}
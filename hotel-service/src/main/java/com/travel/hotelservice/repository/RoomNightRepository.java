@@ -0,0 +1,50 @@
+package com.travel.hotelservice.repository;
+
+import com.travel.hotelservice.entity.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNight.Key> {
+
+    @Query("SELECT r FROM RoomNight r WHERE r.hotelId = :hotelId AND r.night >= :from AND r.night < :to")
+    List<RoomNight> findNights(@Param("hotelId") Long hotelId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+    // Adds the nights of a stay that have no row yet, at the hotel's full capacity, so the updates below see every night
+    @Modifying
+    @Query(value = "INSERT INTO room_nights (hotel_id, night, available_rooms) " +
+            "SELECT h.id, CAST(:checkIn AS date) + n, h.total_rooms FROM hotels h " +
+            "CROSS JOIN generate_series(0, :nights - 1) AS n WHERE h.id = :hotelId " +
+            "ON CONFLICT (hotel_id, night) DO NOTHING", nativeQuery = true)
+    int insertMissingNights(@Param("hotelId") Long hotelId,
+                            @Param("checkIn") LocalDate checkIn,
+                            @Param("nights") int nights);
+
+    // Takes the rooms from every night of the stay that still has them; the caller rolls back unless all nights matched
+    @Query(value = "UPDATE room_nights SET available_rooms = available_rooms - :rooms " +
+            "WHERE hotel_id = :hotelId AND night >= :checkIn AND night < :checkOut AND available_rooms >= :rooms " +
+            "RETURNING night - DATE '1970-01-01' AS \"epochDay\", available_rooms AS \"availableRooms\"",
+            nativeQuery = true)
+    List<RoomNightUpdate> takeRooms(@Param("hotelId") Long hotelId,
+                                    @Param("checkIn") LocalDate checkIn,
+                                    @Param("checkOut") LocalDate checkOut,
+                                    @Param("rooms") int rooms);
+
+    // Gives held rooms back to every night of the stay, never beyond the hotel's capacity
+    @Query(value = "UPDATE room_nights r SET available_rooms = LEAST(r.available_rooms + :rooms, h.total_rooms) " +
+            "FROM hotels h WHERE h.id = r.hotel_id AND r.hotel_id = :hotelId " +
+            "AND r.night >= :checkIn AND r.night < :checkOut " +
+            "RETURNING r.night - DATE '1970-01-01' AS \"epochDay\", r.available_rooms AS \"availableRooms\"",
+            nativeQuery = true)
+    List<RoomNightUpdate> returnRooms(@Param("hotelId") Long hotelId,
+                                      @Param("checkIn") LocalDate checkIn,
+                                      @Param("checkOut") LocalDate checkOut,
+                                      @Param("rooms") int rooms);
+}
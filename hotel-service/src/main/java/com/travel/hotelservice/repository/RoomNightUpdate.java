@@ -0,0 +1,7 @@
+package com.travel.hotelservice.repository;
+
+// A night changed by a reserve or release, as returned by the UPDATE itself
+public interface RoomNightUpdate {
+    Long getEpochDay();
+    Integer getAvailableRooms();
+}
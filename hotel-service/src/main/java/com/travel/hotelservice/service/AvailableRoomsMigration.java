@@ -0,0 +1,52 @@
+package com.travel.hotelservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Upgrades databases created while hotels.available_rooms was still an inventory of its own.
+ * Rooms booked there had no dates and now count as tonight's, so the booked count
+ * (total_rooms - available_rooms) is taken off tonight's room_nights row before the column is
+ * dropped. Runs once at startup, before requests are served; a database without the column is
+ * left alone. The hotels table is locked first so instances starting together migrate only once.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class AvailableRoomsMigration {
+
+    private static final String LOCK_SQL = "LOCK TABLE hotels IN ACCESS EXCLUSIVE MODE";
+    private static final String COLUMN_EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = 'hotels' AND column_name = 'available_rooms')";
+    private static final String INSERT_TONIGHT_SQL = "INSERT INTO room_nights (hotel_id, night, available_rooms) " +
+            "SELECT id, CURRENT_DATE, total_rooms FROM hotels WHERE available_rooms < total_rooms " +
+            "ON CONFLICT (hotel_id, night) DO NOTHING";
+    private static final String CARRY_OVER_SQL = "UPDATE room_nights r " +
+            "SET available_rooms = GREATEST(r.available_rooms - (h.total_rooms - h.available_rooms), 0) " +
+            "FROM hotels h WHERE h.id = r.hotel_id AND r.night = CURRENT_DATE AND h.available_rooms < h.total_rooms";
+    private static final String DROP_COLUMN_SQL = "ALTER TABLE hotels DROP COLUMN available_rooms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_SQL);
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(COLUMN_EXISTS_SQL, Boolean.class))) {
+                return;
+            }
+            jdbcTemplate.update(INSERT_TONIGHT_SQL);
+            int hotels = jdbcTemplate.update(CARRY_OVER_SQL);
+            jdbcTemplate.execute(DROP_COLUMN_SQL);
+            log.info("Moved rooms booked without dates at {} hotels into tonight's room_nights and dropped " +
+                    "hotels.available_rooms", hotels);
+        });
+    }
+}
@@ -0,0 +1,204 @@
+package com.travel.hotelservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.common.bulk.BulkRowReader;
+import com.travel.hotelservice.dto.BulkImportResultDTO;
+import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.repository.HotelRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams hotels from a CSV or NDJSON body into the hotels table.
+ * Hotels have no unique column, so a row counts as a duplicate when a hotel with the same
+ * name, location and address already exists or appeared earlier in the upload.
+ * Otherwise works like FlightBulkImporter: one duplicate query per chunk, ids from the identity
+ * sequence in one round trip, JDBC batch inserts and a transaction per chunk, retried row by row
+ * when the database rejects it so only the offending rows are reported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelBulkImporter {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('hotels', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL = "INSERT INTO hotels (id, name, location, address, star_rating, " +
+            "price_per_night, total_rooms, amenities, active, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final HotelRepository hotelRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${hotel.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${hotel.bulk.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record PendingHotel(long line, HotelDTO hotel) {
+    }
+
+    public BulkImportResultDTO importHotels(InputStream body, MediaType contentType) throws IOException {
+        long started = System.currentTimeMillis();
+        Tally tally = new Tally(maxReportedErrors);
+        Set<String> seen = new HashSet<>();
+        List<PendingHotel> chunk = new ArrayList<>(batchSize);
+
+        try (BulkRowReader<HotelDTO> reader = BulkRowReader.open(body, contentType, HotelDTO.class, objectMapper)) {
+            BulkRowReader.Row<HotelDTO> row;
+            while ((row = reader.next()) != null) {
+                tally.received++;
+                if (row.error() != null) {
+                    tally.fail(row.line(), null, row.error());
+                    continue;
+                }
+                HotelDTO hotel = row.value();
+                Set<ConstraintViolation<HotelDTO>> violations = validator.validate(hotel);
+                if (!violations.isEmpty()) {
+                    tally.fail(row.line(), hotel.getName(), violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                if (!seen.add(key(hotel.getName(), hotel.getLocation(), hotel.getAddress()))) {
+                    tally.duplicate(row.line(), hotel.getName(), "Hotel repeated in this upload");
+                    continue;
+                }
+                chunk.add(new PendingHotel(row.line(), hotel));
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, tally);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, tally);
+        }
+
+        long elapsedMs = System.currentTimeMillis() - started;
+        log.info("Bulk import of {} hotel rows: {} imported, {} duplicates, {} failed in {} ms",
+                tally.received, tally.imported, tally.duplicates, tally.failed, elapsedMs);
+        return new BulkImportResultDTO(tally.received, tally.imported, tally.duplicates, tally.failed,
+                elapsedMs, tally.errors);
+    }
+
+    private void writeChunk(List<PendingHotel> chunk, Tally tally) {
+        Set<String> existing = hotelRepository.findKeysByNameInAndLocationIn(
+                        chunk.stream().map(pending -> pending.hotel().getName()).collect(Collectors.toSet()),
+                        chunk.stream().map(pending -> pending.hotel().getLocation()).collect(Collectors.toSet()))
+                .stream()
+                .map(view -> key(view.getName(), view.getLocation(), view.getAddress()))
+                .collect(Collectors.toSet());
+
+        List<PendingHotel> fresh = new ArrayList<>(chunk.size());
+        for (PendingHotel pending : chunk) {
+            HotelDTO hotel = pending.hotel();
+            if (existing.contains(key(hotel.getName(), hotel.getLocation(), hotel.getAddress()))) {
+                tally.duplicate(pending.line(), hotel.getName(), "Hotel already exists at " + hotel.getAddress());
+            } else {
+                fresh.add(pending);
+            }
+        }
+        try {
+            insert(fresh);
+            tally.imported += fresh.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Bulk insert of {} hotels was rejected, inserting them one by one: {}",
+                    fresh.size(), e.getMostSpecificCause().getMessage());
+            fresh.forEach(pending -> insertOne(pending, tally));
+        }
+    }
+
+    private void insertOne(PendingHotel pending, Tally tally) {
+        try {
+            insert(List.of(pending));
+            tally.imported++;
+        } catch (DataIntegrityViolationException e) {
+            tally.fail(pending.line(), pending.hotel().getName(),
+                    "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void insert(List<PendingHotel> hotels) {
+        if (hotels.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, hotels.size());
+            List<Object[]> rows = new ArrayList<>(hotels.size());
+            for (int i = 0; i < hotels.size(); i++) {
+                HotelDTO hotel = hotels.get(i).hotel();
+                rows.add(new Object[]{
+                        ids.get(i),
+                        hotel.getName(),
+                        hotel.getLocation(),
+                        hotel.getAddress(),
+                        hotel.getStarRating(),
+                        hotel.getPricePerNight(),
+                        hotel.getTotalRooms(),
+                        hotel.getAmenities(),
+                        hotel.getActive() != null ? hotel.getActive() : Boolean.TRUE,
+                        now
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        });
+    }
+
+    private static String key(String name, String location, String address) {
+        return name + '\u0000' + location + '\u0000' + address;
+    }
+
+    private static final class Tally {
+        private final int maxErrors;
+        private final List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long failed;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String key, String message) {
+            failed++;
+            report(line, key, message);
+        }
+
+        private void duplicate(long line, String key, String message) {
+            duplicates++;
+            report(line, key, message);
+        }
+
+        private void report(long line, String key, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResultDTO.RowError(line, key, message));
+            }
+        }
+    }
+}
@@ -1,83 +1,220 @@
 package com.travel.hotelservice.service;
 
+import com.travel.hotelservice.dto.CursorPageDTO;
 import com.travel.hotelservice.dto.HotelAvailabilityDTO;
 import com.travel.hotelservice.dto.HotelDTO;
+import com.travel.hotelservice.dto.HotelSearchCriteria;
 import com.travel.hotelservice.entity.Hotel;
 import com.travel.hotelservice.exception.ResourceNotFoundException;
 import com.travel.hotelservice.repository.HotelRepository;
+import com.travel.hotelservice.repository.ReleasedRoomHoldRepository;
+import com.travel.hotelservice.repository.RoomNightRepository;
+import com.travel.hotelservice.repository.RoomNightUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Room inventory lives only in room_nights, one row per hotel and night. Calls without dates work
+ * on tonight's row, so an undated availability check, search or reservation sees the same count
+ * as a dated one covering tonight.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HotelService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final HotelRepository hotelRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final ReleasedRoomHoldRepository releasedRoomHoldRepository;
+    private final RoomCalendarIndex roomCalendarIndex;
+    private final PricingEngine pricingEngine;
+
+    @Value("${hotel.calendar.max-nights:30}")
+    private int maxNights;
 
     @Transactional
     public HotelDTO createHotel(HotelDTO hotelDTO) {
-        Hotel hotel = mapToEntity(hotelDTO);
-        hotel.setAvailableRooms(hotel.getTotalRooms());
-        Hotel savedHotel = hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(mapToEntity(hotelDTO));
         log.info("Created hotel: {}", savedHotel.getName());
-        return mapToDTO(savedHotel);
+        // A new hotel has every room free on every night
+        return mapToDTO(savedHotel, savedHotel.getTotalRooms());
     }
 
     public HotelDTO getHotelById(Long id) {
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
-        return mapToDTO(hotel);
+        return mapToDTO(hotel, roomsTonight(hotel));
     }
 
-    public List<HotelDTO> getAllHotels() {
-        return hotelRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<HotelDTO> getAllHotels(String cursor, int limit) {
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setIncludeDetails(true);
+        return searchHotels(criteria, cursor, limit);
+    }
+
+    public CursorPageDTO<HotelDTO> searchHotels(HotelSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long afterId = cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+
+        // Fetch one extra row to know whether another page exists, without a count query
+        List<HotelDTO> rows = hotelRepository.search(criteria, afterId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<HotelDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? SearchCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(page, nextCursor, hasMore);
     }
 
     public HotelAvailabilityDTO checkAvailability(Long id) {
+        LocalDate tonight = LocalDate.now();
+        return checkAvailability(id, tonight, tonight.plusDays(1));
+    }
+
+    public HotelAvailabilityDTO checkAvailability(Long id, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null && checkOut == null) {
+            return checkAvailability(id);
+        }
+        requireStay(checkIn, checkOut);
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
+        return toAvailability(hotel, checkIn, checkOut);
+    }
+
+    public Map<Long, HotelAvailabilityDTO> checkAvailability(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+
+        // One IN query for the whole batch instead of a findById per hotel
+        Map<Long, Hotel> hotels = hotelRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
 
-        log.info("Checking availability for hotel: {}, Available rooms: {}",
-                hotel.getName(), hotel.getAvailableRooms());
+        Map<Long, HotelAvailabilityDTO> result = new LinkedHashMap<>();
+        for (Long id : requested) {
+            Hotel hotel = hotels.get(id);
+            result.put(id, hotel == null
+                    ? HotelAvailabilityDTO.unavailable(id, null, "Hotel not found")
+                    : toAvailability(hotel, LocalDate.now(), LocalDate.now().plusDays(1)));
+        }
+        return result;
+    }
 
+    private HotelAvailabilityDTO toAvailability(Hotel hotel, LocalDate checkIn, LocalDate checkOut) {
+        Long id = hotel.getId();
         if (!hotel.getActive()) {
             return HotelAvailabilityDTO.unavailable(id, hotel.getName(), "Hotel is inactive");
         }
 
-        if (hotel.getAvailableRooms() <= 0) {
-            return HotelAvailabilityDTO.unavailable(id, hotel.getName(), "No rooms available");
+        int availableRooms = roomCalendarIndex.minAvailableRooms(hotel, checkIn, checkOut);
+        log.info("Checking availability for hotel: {} from {} to {}, Available rooms: {}",
+                hotel.getName(), checkIn, checkOut, availableRooms);
+        if (availableRooms <= 0) {
+            return HotelAvailabilityDTO.unavailable(id, hotel.getName(),
+                    "No rooms available for every night from " + checkIn + " to " + checkOut);
         }
+        BigDecimal price = pricingEngine.price(hotel.getPricePerNight(), availableRooms, hotel.getTotalRooms(), checkIn);
+        return HotelAvailabilityDTO.available(id, hotel.getName(), availableRooms, price);
+    }
 
-        return HotelAvailabilityDTO.available(
-                id,
-                hotel.getName(),
-                hotel.getAvailableRooms(),
-                hotel.getPricePerNight()
-        );
+    private int roomsTonight(Hotel hotel) {
+        LocalDate tonight = LocalDate.now();
+        return roomCalendarIndex.minAvailableRooms(hotel, tonight, tonight.plusDays(1));
     }
 
+    // All rooms for all nights of the stay or nothing: a single UPDATE takes the rooms from each night that has them
     @Transactional
-    public boolean reserveRoom(Long id) {
+    public boolean reserveRooms(Long id, int rooms, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null && checkOut == null) {
+            checkIn = LocalDate.now();
+            checkOut = checkIn.plusDays(1);
+        }
+        if (rooms < 1) {
+            throw new IllegalArgumentException("Rooms to reserve must be at least 1");
+        }
+        int nights = requireStay(checkIn, checkOut);
+        if (!hotelRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + id);
+        }
+
+        roomNightRepository.insertMissingNights(id, checkIn, nights);
+        List<RoomNightUpdate> updated = roomNightRepository.takeRooms(id, checkIn, checkOut, rooms);
+        if (updated.size() < nights) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.info("Fewer than {} room(s) left at hotel {} on {} of {} nights from {}",
+                    rooms, id, nights - updated.size(), nights, checkIn);
+            return false;
+        }
+        roomCalendarIndex.record(id, updated);
+        log.info("Reserved {} room(s) for hotel: {} from {} to {}", rooms, id, checkIn, checkOut);
+        return true;
+    }
+
+    // With a hold id, only the first release of that hold gives rooms back; repeats return the current count
+    @Transactional
+    public int releaseRooms(Long id, int rooms, LocalDate checkIn, LocalDate checkOut, String holdId) {
+        if (checkIn == null && checkOut == null) {
+            checkIn = LocalDate.now();
+            checkOut = checkIn.plusDays(1);
+        }
+        if (rooms < 1) {
+            throw new IllegalArgumentException("Rooms to release must be at least 1");
+        }
+        int nights = requireStayDates(checkIn, checkOut);
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
+        if (holdId != null && releasedRoomHoldRepository.recordRelease(holdId, id, rooms) == 0) {
+            log.info("Hold {} at hotel {} was already released", holdId, id);
+            return roomCalendarIndex.minAvailableRooms(hotel, checkIn, checkOut);
+        }
+
+        roomNightRepository.insertMissingNights(id, checkIn, nights);
+        List<RoomNightUpdate> updated = roomNightRepository.returnRooms(id, checkIn, checkOut, rooms);
+        roomCalendarIndex.record(id, updated);
+        int available = updated.stream().mapToInt(RoomNightUpdate::getAvailableRooms).min().orElse(0);
+        log.info("Released {} room(s) for hotel: {} from {} to {}, Available rooms: {}",
+                rooms, id, checkIn, checkOut, available);
+        return available;
+    }
+
+    // Number of nights in a stay that is still bookable
+    private int requireStay(LocalDate checkIn, LocalDate checkOut) {
+        int nights = requireStayDates(checkIn, checkOut);
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in date cannot be in the past");
+        }
+        return nights;
+    }
 
-        if (hotel.getAvailableRooms() > 0) {
-            hotel.setAvailableRooms(hotel.getAvailableRooms() - 1);
-            hotelRepository.save(hotel);
-            log.info("Reserved room for hotel: {}, Remaining rooms: {}",
-                    hotel.getName(), hotel.getAvailableRooms());
-            return true;
+    private int requireStayDates(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates must be given together");
+        }
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights < 1) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (nights > maxNights) {
+            throw new IllegalArgumentException("A stay can be at most " + maxNights + " nights");
         }
-        return false;
+        return (int) nights;
     }
 
-    private HotelDTO mapToDTO(Hotel hotel) {
+    // availableRooms is tonight's count from the room calendar
+    static HotelDTO mapToDTO(Hotel hotel, int availableRooms) {
         return new HotelDTO(
                 hotel.getId(),
                 hotel.getName(),
@@ -86,7 +223,7 @@ public class HotelService {
                 hotel.getStarRating(),
                 hotel.getPricePerNight(),
                 hotel.getTotalRooms(),
-                hotel.getAvailableRooms(),
+                availableRooms,
                 hotel.getAmenities(),
                 hotel.getActive()
         );
@@ -0,0 +1,28 @@
+package com.travel.hotelservice.service;
+
+import com.travel.common.pricing.LoadFactorPricer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Prices a night from the share of rooms still free over the stay and the days left before check-in
+@Component
+@ConditionalOnProperty(name = "hotel.pricing.engine", havingValue = "load-factor")
+public class LoadFactorPricingEngine implements PricingEngine {
+
+    private final LoadFactorPricer pricer;
+
+    public LoadFactorPricingEngine(
+            @Value("${hotel.pricing.load-factor-rules:0:1.40,0.10:1.25,0.30:1.10,0.60:1.00,0.85:0.90}") String loadFactorRules,
+            @Value("${hotel.pricing.lead-time-rules:0:1.20,2:1.10,7:1.00,45:0.95}") String leadTimeRules) {
+        this.pricer = new LoadFactorPricer(loadFactorRules, leadTimeRules);
+    }
+
+    @Override
+    public BigDecimal price(BigDecimal basePrice, int availableRooms, int totalRooms, LocalDate checkIn) {
+        return pricer.price(basePrice, availableRooms, totalRooms, checkIn);
+    }
+}
@@ -0,0 +1,51 @@
+package com.travel.hotelservice.service;
+
+import java.util.Arrays;
+
+// Smallest value over a range [from, to) and single-value updates, both in O(log n); not thread-safe
+final class MinSegmentTree {
+
+    private final int size;
+    // Leaves live in [size, 2 * size), each parent i holds min(tree[2i], tree[2i + 1])
+    private final int[] tree;
+
+    MinSegmentTree(int[] values) {
+        this.size = values.length;
+        this.tree = new int[2 * size];
+        System.arraycopy(values, 0, tree, size, size);
+        for (int i = size - 1; i > 0; i--) {
+            tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    static MinSegmentTree filled(int size, int value) {
+        int[] values = new int[size];
+        Arrays.fill(values, value);
+        return new MinSegmentTree(values);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void set(int index, int value) {
+        int i = index + size;
+        tree[i] = value;
+        for (i >>= 1; i > 0; i >>= 1) {
+            tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    int min(int from, int to) {
+        int result = Integer.MAX_VALUE;
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = Math.min(result, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                result = Math.min(result, tree[--right]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.travel.hotelservice.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Turns a hotel's stored nightly rate into the price quoted on availability; chosen with hotel.pricing.engine
+public interface PricingEngine {
+
+    BigDecimal price(BigDecimal basePrice, int availableRooms, int totalRooms, LocalDate checkIn);
+}
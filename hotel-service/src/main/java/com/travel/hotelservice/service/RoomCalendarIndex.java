@@ -0,0 +1,126 @@
+package com.travel.hotelservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travel.hotelservice.entity.Hotel;
+import com.travel.hotelservice.entity.RoomNight;
+import com.travel.hotelservice.repository.RoomNightRepository;
+import com.travel.hotelservice.repository.RoomNightUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory room calendar per hotel for availability checks over a stay. Each hotel's next
+ * horizon-days nights are loaded once into a min segment tree, so "rooms free on every night of
+ * this stay" costs O(log n) instead of a range scan of room_nights. Reserves and releases on this
+ * instance update the tree after they commit; changes made elsewhere show up once the entry expires.
+ * Reservations never rely on the index: the conditional UPDATE on room_nights decides those.
+ */
+@Component
+@Slf4j
+public class RoomCalendarIndex {
+
+    private record Calendar(long firstEpochDay, MinSegmentTree nights) {
+    }
+
+    private final RoomNightRepository roomNightRepository;
+    private final Clock clock;
+    private final int horizonDays;
+    private final Cache<Long, Calendar> calendars;
+
+    @Autowired
+    public RoomCalendarIndex(RoomNightRepository roomNightRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${hotel.calendar.horizon-days:365}") int horizonDays,
+                             @Value("${hotel.calendar.cache-size:10000}") long cacheSize,
+                             @Value("${hotel.calendar.ttl-ms:60000}") long ttlMs) {
+        this(roomNightRepository, Clock.systemDefaultZone(), meterRegistry, horizonDays, cacheSize, ttlMs);
+    }
+
+    RoomCalendarIndex(RoomNightRepository roomNightRepository, Clock clock, MeterRegistry meterRegistry,
+                      int horizonDays, long cacheSize, long ttlMs) {
+        this.roomNightRepository = roomNightRepository;
+        this.clock = clock;
+        this.horizonDays = horizonDays;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, "roomCalendar");
+    }
+
+    // Fewest rooms free on any night in [checkIn, checkOut)
+    public int minAvailableRooms(Hotel hotel, LocalDate checkIn, LocalDate checkOut) {
+        Calendar calendar = calendars.get(hotel.getId(), id -> load(hotel));
+        long from = checkIn.toEpochDay() - calendar.firstEpochDay();
+        long to = checkOut.toEpochDay() - calendar.firstEpochDay();
+        if (from < 0 || to > calendar.nights().size()) {
+            // Outside the indexed nights, read the stay straight from the table
+            return scan(hotel, checkIn, checkOut);
+        }
+        synchronized (calendar) {
+            return calendar.nights().min((int) from, (int) to);
+        }
+    }
+
+    // Applies nights changed by a reserve or release once the surrounding transaction has committed
+    public void record(Long hotelId, List<RoomNightUpdate> updates) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(hotelId, updates);
+                }
+            });
+        } else {
+            apply(hotelId, updates);
+        }
+    }
+
+    private void apply(Long hotelId, List<RoomNightUpdate> updates) {
+        Calendar calendar = calendars.getIfPresent(hotelId);
+        if (calendar == null) {
+            return;
+        }
+        synchronized (calendar) {
+            for (RoomNightUpdate update : updates) {
+                long index = update.getEpochDay() - calendar.firstEpochDay();
+                if (index >= 0 && index < calendar.nights().size()) {
+                    calendar.nights().set((int) index, update.getAvailableRooms());
+                }
+            }
+        }
+    }
+
+    private Calendar load(Hotel hotel) {
+        LocalDate first = LocalDate.now(clock);
+        MinSegmentTree nights = MinSegmentTree.filled(horizonDays, hotel.getTotalRooms());
+        List<RoomNight> stored = roomNightRepository.findNights(hotel.getId(), first, first.plusDays(horizonDays));
+        for (RoomNight night : stored) {
+            nights.set((int) (night.getNight().toEpochDay() - first.toEpochDay()), night.getAvailableRooms());
+        }
+        log.debug("Loaded room calendar for hotel {} with {} booked nights", hotel.getId(), stored.size());
+        return new Calendar(first.toEpochDay(), nights);
+    }
+
+    private int scan(Hotel hotel, LocalDate checkIn, LocalDate checkOut) {
+        List<RoomNight> stored = roomNightRepository.findNights(hotel.getId(), checkIn, checkOut);
+        int min = hotel.getTotalRooms();
+        for (RoomNight night : stored) {
+            min = Math.min(min, night.getAvailableRooms());
+        }
+        return min;
+    }
+}
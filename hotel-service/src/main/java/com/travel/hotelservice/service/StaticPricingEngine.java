@@ -0,0 +1,18 @@
+package com.travel.hotelservice.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// The stored nightly rate as is
+@Component
+@ConditionalOnProperty(name = "hotel.pricing.engine", havingValue = "static", matchIfMissing = true)
+public class StaticPricingEngine implements PricingEngine {
+
+    @Override
+    public BigDecimal price(BigDecimal basePrice, int availableRooms, int totalRooms, LocalDate checkIn) {
+        return basePrice;
+    }
+}
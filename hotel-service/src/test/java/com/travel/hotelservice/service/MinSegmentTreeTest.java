@@ -0,0 +1,54 @@
+package com.travel.hotelservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinSegmentTreeTest {
+
+    @Test
+    void rangeMinMatchesAScanAfterPointUpdates() {
+        Random random = new Random(7);
+        // Sizes that are not powers of two exercise the unbalanced edges of the tree
+        for (int size : new int[]{1, 2, 3, 7, 30, 365}) {
+            int[] values = new int[size];
+            Arrays.setAll(values, i -> random.nextInt(50));
+            MinSegmentTree tree = new MinSegmentTree(values);
+
+            for (int round = 0; round < 200; round++) {
+                int index = random.nextInt(size);
+                values[index] = random.nextInt(50);
+                tree.set(index, values[index]);
+
+                int from = random.nextInt(size);
+                int to = from + 1 + random.nextInt(size - from);
+                assertThat(tree.min(from, to))
+                        .as("min over [%d, %d) of %d values", from, to, size)
+                        .isEqualTo(Arrays.stream(values, from, to).min().getAsInt());
+            }
+        }
+    }
+
+    @Test
+    void rangesCoverTheirFirstAndLastValue() {
+        MinSegmentTree tree = MinSegmentTree.filled(10, 5);
+        tree.set(0, 1);
+        tree.set(9, 2);
+
+        assertThat(tree.min(0, 1)).isEqualTo(1);
+        assertThat(tree.min(1, 9)).isEqualTo(5);
+        assertThat(tree.min(1, 10)).isEqualTo(2);
+        assertThat(tree.min(0, 10)).isEqualTo(1);
+    }
+
+    @Test
+    void emptyRangeHasNoMinimum() {
+        MinSegmentTree tree = MinSegmentTree.filled(4, 3);
+
+        assertThat(tree.size()).isEqualTo(4);
+        assertThat(tree.min(2, 2)).isEqualTo(Integer.MAX_VALUE);
+    }
+}
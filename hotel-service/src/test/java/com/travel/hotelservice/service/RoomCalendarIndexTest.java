@@ -0,0 +1,158 @@
+package com.travel.hotelservice.service;
+
+import com.travel.hotelservice.entity.Hotel;
+import com.travel.hotelservice.entity.RoomNight;
+import com.travel.hotelservice.repository.RoomNightRepository;
+import com.travel.hotelservice.repository.RoomNightUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomCalendarIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 14);
+    private static final int HORIZON_DAYS = 30;
+
+    private final List<RoomNight> stored = new ArrayList<>();
+    private final RoomNightRepository repository = mock(RoomNightRepository.class);
+    private final MovableClock clock = new MovableClock(TODAY);
+    private final Hotel hotel = new Hotel();
+    private RoomCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        hotel.setId(1L);
+        hotel.setTotalRooms(10);
+        when(repository.findNights(eq(1L), any(), any())).thenAnswer(invocation -> {
+            LocalDate from = invocation.getArgument(1);
+            LocalDate to = invocation.getArgument(2);
+            return stored.stream()
+                    .filter(night -> !night.getNight().isBefore(from) && night.getNight().isBefore(to))
+                    .toList();
+        });
+        index = new RoomCalendarIndex(repository, clock, new SimpleMeterRegistry(), HORIZON_DAYS, 100, 60_000);
+    }
+
+    @Test
+    void nightsWithoutARowHaveAllRooms() {
+        stored.add(new RoomNight(1L, TODAY.plusDays(2), 4));
+
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(2))).isEqualTo(10);
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(3))).isEqualTo(4);
+        assertThat(index.minAvailableRooms(hotel, TODAY.plusDays(3), TODAY.plusDays(5))).isEqualTo(10);
+    }
+
+    @Test
+    void recordedNightsChangeTheMinimumWithoutReloading() {
+        stored.add(new RoomNight(1L, TODAY.plusDays(1), 6));
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(3))).isEqualTo(6);
+
+        index.record(1L, List.of(update(TODAY.plusDays(1), 8), update(TODAY.plusDays(2), 3)));
+
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(2))).isEqualTo(8);
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(3))).isEqualTo(3);
+        verify(repository, times(1)).findNights(eq(1L), any(), any());
+    }
+
+    @Test
+    void recordForAHotelNotLoadedIsIgnored() {
+        index.record(1L, List.of(update(TODAY, 0)));
+
+        assertThat(index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(1))).isEqualTo(10);
+    }
+
+    @Test
+    void staysPastTheHorizonAreReadFromTheTable() {
+        LocalDate lastIndexed = TODAY.plusDays(HORIZON_DAYS - 1);
+        stored.add(new RoomNight(1L, lastIndexed, 5));
+        stored.add(new RoomNight(1L, lastIndexed.plusDays(1), 2));
+
+        // The last indexed night comes from the tree, the next one only from a scan
+        assertThat(index.minAvailableRooms(hotel, lastIndexed, lastIndexed.plusDays(1))).isEqualTo(5);
+        verify(repository, times(1)).findNights(eq(1L), any(), any());
+
+        assertThat(index.minAvailableRooms(hotel, lastIndexed, lastIndexed.plusDays(2))).isEqualTo(2);
+        verify(repository).findNights(1L, lastIndexed, lastIndexed.plusDays(2));
+    }
+
+    @Test
+    void staysBeforeTheFirstIndexedNightAreReadFromTheTable() {
+        stored.add(new RoomNight(1L, TODAY.minusDays(1), 1));
+        index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(1));
+
+        assertThat(index.minAvailableRooms(hotel, TODAY.minusDays(1), TODAY.plusDays(1))).isEqualTo(1);
+    }
+
+    @Test
+    void calendarLoadedBeforeMidnightKeepsServingTheNextDay() {
+        stored.add(new RoomNight(1L, TODAY.plusDays(1), 7));
+        index.minAvailableRooms(hotel, TODAY, TODAY.plusDays(1));
+
+        clock.advanceDays(1);
+        LocalDate tomorrow = TODAY.plusDays(1);
+        index.record(1L, List.of(update(TODAY, 0), update(tomorrow, 6)));
+
+        assertThat(index.minAvailableRooms(hotel, tomorrow, tomorrow.plusDays(1))).isEqualTo(6);
+        // Nights are still counted from the load date, so the horizon now ends a day early
+        LocalDate horizonEnd = TODAY.plusDays(HORIZON_DAYS);
+        index.minAvailableRooms(hotel, horizonEnd.minusDays(1), horizonEnd.plusDays(1));
+        verify(repository).findNights(1L, horizonEnd.minusDays(1), horizonEnd.plusDays(1));
+    }
+
+    private static RoomNightUpdate update(LocalDate night, int availableRooms) {
+        return new RoomNightUpdate() {
+            @Override
+            public Long getEpochDay() {
+                return night.toEpochDay();
+            }
+
+            @Override
+            public Integer getAvailableRooms() {
+                return availableRooms;
+            }
+        };
+    }
+
+    private static final class MovableClock extends Clock {
+        private Instant now;
+
+        private MovableClock(LocalDate date) {
+            this.now = date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        void advanceDays(int days) {
+            now = now.plusSeconds(days * 86_400L);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
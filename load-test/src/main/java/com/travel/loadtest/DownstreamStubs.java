@@ -0,0 +1,143 @@
+package com.travel.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stubs for everything booking-service calls: user validation, flight and hotel availability,
+ * reserve and release, and notification sends. Inventory is unlimited so every booking can succeed.
+ */
+final class DownstreamStubs implements AutoCloseable {
+
+    private static final Pattern USER_VALIDATE = Pattern.compile("/api/users/validate/(\\d+)");
+    private static final Pattern FLIGHT = Pattern.compile("/api/flights/(\\d+)/(availability|reserve|release)");
+    private static final Pattern HOTEL = Pattern.compile("/api/hotels/(\\d+)/(availability|reserve|release)");
+    private static final BigDecimal FLIGHT_PRICE = new BigDecimal("349.99");
+    private static final BigDecimal PRICE_PER_NIGHT = new BigDecimal("89.50");
+
+    private final ObjectMapper objectMapper;
+    private final List<StubServer> servers = new ArrayList<>();
+    private final StubServer user;
+    private final StubServer flight;
+    private final StubServer hotel;
+    private final StubServer notification;
+
+    DownstreamStubs(LoadTestOptions options, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.user = start(new StubServer("user", options, objectMapper, this::user));
+        this.flight = start(new StubServer("flight", options, objectMapper, this::flight));
+        this.hotel = start(new StubServer("hotel", options, objectMapper, this::hotel));
+        this.notification = start(new StubServer("notification", options, objectMapper, this::notification));
+    }
+
+    // Spring properties pointing booking-service at the stubs
+    List<String> serviceUrlArgs() {
+        return List.of(
+                "--services.user=" + user.baseUrl(),
+                "--services.flight=" + flight.baseUrl(),
+                "--services.hotel=" + hotel.baseUrl(),
+                "--services.notification=" + notification.baseUrl());
+    }
+
+    List<StubServer> servers() {
+        return servers;
+    }
+
+    private StubServer start(StubServer server) {
+        servers.add(server);
+        return server;
+    }
+
+    private Object user(String method, String path, byte[] body) {
+        Matcher matcher = USER_VALIDATE.matcher(path);
+        return matcher.matches() ? Boolean.TRUE : StubServer.NOT_FOUND;
+    }
+
+    private Object flight(String method, String path, byte[] body) throws IOException {
+        if (path.equals("/api/flights/availability:batch")) {
+            Map<Long, Object> result = new LinkedHashMap<>();
+            for (Long id : batchIds(body)) {
+                result.put(id, flightAvailability(id));
+            }
+            return result;
+        }
+        Matcher matcher = FLIGHT.matcher(path);
+        if (!matcher.matches()) {
+            return StubServer.NOT_FOUND;
+        }
+        long id = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "availability" -> flightAvailability(id);
+            case "reserve" -> Boolean.TRUE;
+            default -> 1;
+        };
+    }
+
+    private Object hotel(String method, String path, byte[] body) throws IOException {
+        if (path.equals("/api/hotels/availability:batch")) {
+            Map<Long, Object> result = new LinkedHashMap<>();
+            for (Long id : batchIds(body)) {
+                result.put(id, hotelAvailability(id));
+            }
+            return result;
+        }
+        Matcher matcher = HOTEL.matcher(path);
+        if (!matcher.matches()) {
+            return StubServer.NOT_FOUND;
+        }
+        long id = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "availability" -> hotelAvailability(id);
+            case "reserve" -> Boolean.TRUE;
+            default -> 1;
+        };
+    }
+
+    private Object notification(String method, String path, byte[] body) {
+        return path.startsWith("/api/notifications/") ? null : StubServer.NOT_FOUND;
+    }
+
+    private List<Long> batchIds(byte[] body) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode id : objectMapper.readTree(body).path("ids")) {
+            ids.add(id.asLong());
+        }
+        return ids;
+    }
+
+    private static Map<String, Object> flightAvailability(long id) {
+        Map<String, Object> availability = new LinkedHashMap<>();
+        availability.put("flightId", id);
+        availability.put("flightNumber", "TB" + (1000 + id));
+        availability.put("available", true);
+        availability.put("availableSeats", 180);
+        availability.put("price", FLIGHT_PRICE);
+        availability.put("message", "Seats available");
+        return availability;
+    }
+
+    private static Map<String, Object> hotelAvailability(long id) {
+        Map<String, Object> availability = new LinkedHashMap<>();
+        availability.put("hotelId", id);
+        availability.put("hotelName", "Stub Hotel " + id);
+        availability.put("available", true);
+        availability.put("availableRooms", 120);
+        availability.put("pricePerNight", PRICE_PER_NIGHT);
+        availability.put("message", "Rooms available");
+        return availability;
+    }
+
+    @Override
+    public void close() {
+        servers.forEach(StubServer::close);
+    }
+}
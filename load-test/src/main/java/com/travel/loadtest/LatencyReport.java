@@ -0,0 +1,72 @@
+package com.travel.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Console output for a run. Histograms are recorded in microseconds and printed in milliseconds.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99};
+
+    private LatencyReport() {
+    }
+
+    static String progress(OpenLoadGenerator generator, Histogram interval, double seconds) {
+        return String.format("  %-28s %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  in-flight %d",
+                generator.name(),
+                interval.getTotalCount() / seconds,
+                millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)),
+                millis(interval.getMaxValue()),
+                generator.inFlight());
+    }
+
+    static void summary(PrintStream out, OpenLoadGenerator generator, double seconds) {
+        Histogram total = generator.total();
+        Map<String, Long> outcomes = generator.outcomes();
+        long succeeded = outcomes.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("http 2"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+
+        out.println(generator.name());
+        out.printf("  offered %.1f req/s, answered %.1f req/s, succeeded %.1f req/s%n",
+                generator.ratePerSecond(), total.getTotalCount() / seconds, succeeded / seconds);
+        outcomes.forEach((outcome, count) -> out.printf("  %-26s %d%n", outcome, count));
+        if (total.getTotalCount() == 0) {
+            out.println("  no responses recorded");
+            return;
+        }
+        out.print("  latency ms ");
+        for (double percentile : PERCENTILES) {
+            out.printf(" p%s %.2f", format(percentile), millis(total.getValueAtPercentile(percentile)));
+        }
+        out.printf("  max %.2f  mean %.2f%n", millis(total.getMaxValue()), total.getMean() / MICROS_PER_MILLI);
+    }
+
+    // Full percentile distribution in the .hgrm format understood by the HdrHistogram plotter
+    static Path writeDistribution(Path directory, OpenLoadGenerator generator) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(generator.name().replaceAll("[^A-Za-z0-9]+", "-") + ".hgrm");
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            generator.total().outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        return file;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,64 @@
+package com.travel.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --key=value} form.
+ * Keys starting with {@code booking-service.} or {@code payment-service.} are handed to that
+ * service as Spring properties, e.g. {@code --payment-service.payment.gateway.latency-ms=50}.
+ */
+final class LoadTestOptions {
+
+    static final String BOOKING_SERVICE = "booking-service";
+    static final String PAYMENT_SERVICE = "payment-service";
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    // stub.<name>.<key>, falling back to stub.<key>, like http.clients in the services
+    double getStub(String name, String key, double defaultValue) {
+        return getDouble("stub." + name + "." + key, getDouble("stub." + key, defaultValue));
+    }
+
+    List<String> serviceArgs(String service) {
+        String prefix = service + ".";
+        List<String> args = new ArrayList<>();
+        values.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                args.add("--" + key.substring(prefix.length()) + "=" + value);
+            }
+        });
+        return args;
+    }
+}
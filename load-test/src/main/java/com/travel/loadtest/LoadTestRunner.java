@@ -0,0 +1,189 @@
+package com.travel.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.bookingservice.BookingServiceApplication;
+import com.travel.paymentservice.PaymentServiceApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots booking-service and payment-service in this JVM against stubbed downstreams and drives
+ * open-model traffic at POST /api/bookings and POST /api/payments/process.
+ *
+ * Payments are made for bookings created earlier in the run, so booking traffic has to be
+ * running for payment traffic to have anything to pay for; slots with no booking to pay are reported as skipped.
+ */
+public final class LoadTestRunner {
+
+    private static final int PENDING_BOOKINGS_CAPACITY = 100_000;
+
+    private record PendingBooking(long id, BigDecimal totalCost) {
+    }
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        double bookingRps = options.getDouble("booking-rps", 50);
+        double paymentRps = options.getDouble("payment-rps", 20);
+        long warmupMs = options.getLong("warmup-ms", 10_000);
+        long durationMs = options.getLong("duration-ms", 60_000);
+        long reportIntervalMs = options.getLong("report-interval-ms", 5_000);
+        int maxInFlight = (int) options.getLong("max-in-flight", 2_000);
+        Duration requestTimeout = Duration.ofMillis(options.getLong("request-timeout-ms", 10_000));
+        String hgrmDir = options.get("hgrm-dir", null);
+        int maxParty = (int) options.getLong("max-party", 1);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        DownstreamStubs stubs = new DownstreamStubs(options, objectMapper);
+
+        List<String> bookingArgs = new ArrayList<>(stubs.serviceUrlArgs());
+        bookingArgs.addAll(options.serviceArgs(LoadTestOptions.BOOKING_SERVICE));
+        ConfigurableApplicationContext booking =
+                ServiceLauncher.start(BookingServiceApplication.class, "booking_db", bookingArgs);
+        String bookingUrl = "http://127.0.0.1:" + ServiceLauncher.port(booking);
+
+        List<String> paymentArgs = new ArrayList<>(List.of("--services.booking=" + bookingUrl));
+        paymentArgs.addAll(options.serviceArgs(LoadTestOptions.PAYMENT_SERVICE));
+        ConfigurableApplicationContext payment =
+                ServiceLauncher.start(PaymentServiceApplication.class, "payment_db", paymentArgs);
+        String paymentUrl = "http://127.0.0.1:" + ServiceLauncher.port(payment);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        BlockingQueue<PendingBooking> pendingBookings = new LinkedBlockingQueue<>(PENDING_BOOKINGS_CAPACITY);
+
+        OpenLoadGenerator bookings = new OpenLoadGenerator("POST /api/bookings", client, bookingRps, maxInFlight,
+                () -> post(bookingUrl + "/api/bookings", bookingRequest(objectMapper, maxParty), requestTimeout),
+                response -> pendingBookings.offer(pendingBooking(objectMapper, response)));
+        OpenLoadGenerator payments = new OpenLoadGenerator("POST /api/payments/process", client, paymentRps, maxInFlight,
+                () -> {
+                    PendingBooking next = pendingBookings.poll();
+                    return next == null ? null
+                            : post(paymentUrl + "/api/payments/process", paymentRequest(objectMapper, next), requestTimeout);
+                },
+                response -> { });
+        List<OpenLoadGenerator> generators = List.of(bookings, payments);
+
+        System.out.println();
+        System.out.println("booking-service  " + bookingUrl);
+        System.out.println("payment-service  " + paymentUrl);
+        stubs.servers().forEach(stub -> System.out.println(stub.describe()));
+        System.out.printf("offering %.1f bookings/s and %.1f payments/s, %d ms warmup then %d ms measured%n%n",
+                bookingRps, paymentRps, warmupMs, durationMs);
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+        long measureUntil = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        for (OpenLoadGenerator generator : generators) {
+            generator.start(start, TimeUnit.MILLISECONDS.toNanos(warmupMs), TimeUnit.MILLISECONDS.toNanos(durationMs));
+        }
+
+        TimeUnit.MILLISECONDS.sleep(warmupMs);
+        long lastReport = System.nanoTime();
+        while (System.nanoTime() < measureUntil) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(reportIntervalMs),
+                    Math.max(0, measureUntil - System.nanoTime())));
+            long now = System.nanoTime();
+            double seconds = (now - lastReport) / 1e9;
+            lastReport = now;
+            System.out.printf("[%5.0fs]%n", (now - measureFrom) / 1e9);
+            for (OpenLoadGenerator generator : generators) {
+                System.out.println(LatencyReport.progress(generator, generator.drainInterval(), seconds));
+            }
+        }
+
+        // Give requests sent near the end the chance to finish before the totals are taken
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (generators.stream().anyMatch(generator -> generator.inFlight() > 0) && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        double measuredSeconds = durationMs / 1000.0;
+        System.out.println();
+        System.out.println("=== Results over " + measuredSeconds + " s ===");
+        for (OpenLoadGenerator generator : generators) {
+            generator.drainInterval();
+            LatencyReport.summary(System.out, generator, measuredSeconds);
+            if (hgrmDir != null) {
+                System.out.println("  distribution written to " + LatencyReport.writeDistribution(Path.of(hgrmDir), generator));
+            }
+        }
+        System.out.println();
+        stubs.servers().forEach(stub -> System.out.println(stub.describe()));
+
+        payment.close();
+        booking.close();
+        stubs.close();
+        System.exit(0);
+    }
+
+    private static HttpRequest post(String url, byte[] body, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private static byte[] bookingRequest(ObjectMapper objectMapper, int maxParty) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("userId", random.nextLong(1, 1_001));
+        request.put("flightId", random.nextLong(1, 201));
+        request.put("hotelId", random.nextLong(1, 201));
+        request.put("travelDate", LocalDate.now().plusDays(random.nextLong(7, 180)).toString());
+        request.put("quantity", random.nextInt(1, maxParty + 1));
+        return json(objectMapper, request);
+    }
+
+    private static byte[] paymentRequest(ObjectMapper objectMapper, PendingBooking booking) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("bookingId", booking.id());
+        request.put("amount", booking.totalCost());
+        request.put("paymentMethod", "CREDIT_CARD");
+        request.put("cardNumber", "4111111111111111");
+        request.put("cvv", "123");
+        request.put("expiryDate", "12/30");
+        return json(objectMapper, request);
+    }
+
+    private static PendingBooking pendingBooking(ObjectMapper objectMapper, HttpResponse<byte[]> response) {
+        try {
+            JsonNode data = objectMapper.readTree(response.body()).path("data");
+            return new PendingBooking(data.path("id").asLong(), data.path("totalCost").decimalValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] json(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
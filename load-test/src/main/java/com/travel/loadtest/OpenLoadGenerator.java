@@ -0,0 +1,143 @@
+package com.travel.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fires requests at a fixed rate regardless of how fast responses come back (open model).
+ * Latency is measured from the time a request was scheduled to start, not from when it was
+ * actually sent, so a stalled sender or a saturated service shows up in the percentiles
+ * instead of silently lowering the offered load.
+ */
+final class OpenLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final HttpClient client;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Supplier<HttpRequest> requests;
+    private final Consumer<HttpResponse<byte[]>> onSuccess;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private Histogram interval;
+
+    // requests may return null when there is nothing to send yet; the slot is counted as skipped
+    OpenLoadGenerator(String name, HttpClient client, double ratePerSecond, int maxInFlight,
+                      Supplier<HttpRequest> requests, Consumer<HttpResponse<byte[]>> onSuccess) {
+        this.name = name;
+        this.client = client;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.requests = requests;
+        this.onSuccess = onSuccess;
+    }
+
+    String name() {
+        return name;
+    }
+
+    double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    Thread start(long startNanos, long warmupNanos, long durationNanos) {
+        measureFromNanos = startNanos + warmupNanos;
+        Thread sender = new Thread(() -> send(startNanos, startNanos + warmupNanos + durationNanos), name + "-sender");
+        sender.setDaemon(true);
+        sender.start();
+        return sender;
+    }
+
+    private void send(long startNanos, long endNanos) {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        for (long intended = startNanos; intended < endNanos; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(intended);
+        }
+    }
+
+    private void fire(long intendedStart) {
+        boolean measured = intendedStart >= measureFromNanos;
+        HttpRequest request = requests.get();
+        if (request == null) {
+            count(measured, "skipped");
+            return;
+        }
+        // Past this many outstanding requests the service is not keeping up; shed instead of queueing forever
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            count(measured, "dropped (max in-flight)");
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            if (error != null) {
+                count(measured, error.getCause() instanceof HttpTimeoutException || error instanceof HttpTimeoutException
+                        ? "timeout" : "io error");
+                return;
+            }
+            if (measured) {
+                recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            }
+            int status = response.statusCode();
+            count(measured, "http " + status);
+            if (status / 100 == 2) {
+                onSuccess.accept(response);
+            }
+        });
+    }
+
+    private void count(boolean measured, String outcome) {
+        if (measured) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+    }
+
+    // Moves everything recorded since the last call into the run total and returns just that interval
+    synchronized Histogram drainInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,49 @@
+package com.travel.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots a service in this JVM with its own application.yml, an in-memory H2 database
+ * in PostgreSQL mode instead of Postgres, and a random port.
+ */
+final class ServiceLauncher {
+
+    private ServiceLauncher() {
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String database, List<String> overrides) {
+        List<String> args = new ArrayList<>();
+        // Both services ship an application.yml at the jar root, so name the one inside this service's jar
+        args.add("--spring.config.location=" + applicationYml(application));
+        args.add("--server.port=0");
+        args.add("--spring.main.banner-mode=off");
+        args.add("--spring.datasource.url=jdbc:h2:mem:" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=");
+        args.add("--spring.jpa.hibernate.ddl-auto=create");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        // Per-request INFO logging would measure the console rather than the service
+        args.add("--logging.level.com.travel=WARN");
+        args.addAll(overrides);
+        return SpringApplication.run(application, args.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static String applicationYml(Class<?> application) {
+        URL location = application.getProtectionDomain().getCodeSource().getLocation();
+        String path = location.toExternalForm();
+        return path.endsWith(".jar") ? "jar:" + path + "!/application.yml" : path + "application.yml";
+    }
+}
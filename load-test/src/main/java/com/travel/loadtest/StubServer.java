@@ -0,0 +1,129 @@
+package com.travel.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal HTTP stand-in for a downstream service. Every answer is delayed by
+ * {@code latency-ms} plus up to {@code jitter-ms}, and {@code error-rate} of the requests
+ * get a 503, so the service under test sees slow and failing dependencies.
+ * The delay is served from a scheduler, not by sleeping, so a slow stub does not cap its own throughput.
+ */
+final class StubServer implements AutoCloseable {
+
+    @FunctionalInterface
+    interface Route {
+        // Returns the ApiResponse data for the request, or NOT_FOUND when the path is unknown
+        Object handle(String method, String path, byte[] body) throws IOException;
+    }
+
+    static final Object NOT_FOUND = new Object();
+
+    private final String name;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final Route route;
+    private final ObjectMapper objectMapper;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delays;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    StubServer(String name, LoadTestOptions options, ObjectMapper objectMapper, Route route) throws IOException {
+        this.name = name;
+        this.latencyMs = (long) options.getStub(name, "latency-ms", 20);
+        this.jitterMs = (long) options.getStub(name, "jitter-ms", 10);
+        this.errorRate = options.getStub(name, "error-rate", 0.0);
+        this.route = route;
+        this.objectMapper = objectMapper;
+        this.workers = Executors.newFixedThreadPool(8, daemon(name + "-stub"));
+        this.delays = Executors.newScheduledThreadPool(2, daemon(name + "-stub-delay"));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(workers);
+        this.server.createContext("/", this::accept);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    String describe() {
+        return String.format("%-22s %s  latency %d+%d ms  error rate %.3f  requests %d  injected errors %d",
+                name, baseUrl(), latencyMs, jitterMs, errorRate, requests.get(), injectedErrors.get());
+    }
+
+    private void accept(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+
+        int status;
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            status = 503;
+            response.put("success", false);
+            response.put("message", "Injected failure from " + name + " stub");
+        } else {
+            Object data = route.handle(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), body);
+            status = data == NOT_FOUND ? 404 : 200;
+            response.put("success", status == 200);
+            response.put("message", status == 200 ? "OK" : "No stub for " + exchange.getRequestURI().getPath());
+            response.put("data", data == NOT_FOUND ? null : data);
+        }
+        byte[] payload = objectMapper.writeValueAsBytes(response);
+
+        long delayMs = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        delays.schedule(() -> respond(exchange, status, payload), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] payload) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        } catch (IOException e) {
+            // The caller gave up (timeout); nothing left to answer
+        } finally {
+            exchange.close();
+        }
+    }
+
+    static ThreadFactory daemon(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delays.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -1,16 +1,23 @@
 package com.travel.notificationservice.controller;
 
 import com.travel.notificationservice.dto.ApiResponse;
+import com.travel.notificationservice.dto.NotificationBatchRequestDTO;
 import com.travel.notificationservice.dto.NotificationRequestDTO;
 import com.travel.notificationservice.dto.NotificationResponseDTO;
+import com.travel.notificationservice.entity.NotificationStatus;
 import com.travel.notificationservice.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,9 +32,23 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<NotificationResponseDTO>> sendNotification(
             @Valid @RequestBody NotificationRequestDTO request) {
         NotificationResponseDTO notification = notificationService.sendNotification(request);
+        if (notification.getStatus() == NotificationStatus.PENDING) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(true, "Notification queued", notification));
+        }
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification sent", notification));
     }
 
+    @PostMapping("/send:batch")
+    @Operation(summary = "Send several notifications in one request")
+    public ResponseEntity<ApiResponse<List<NotificationResponseDTO>>> sendNotifications(
+            @Valid @RequestBody NotificationBatchRequestDTO request) {
+        List<NotificationResponseDTO> notifications =
+                notificationService.sendNotifications(request.getNotifications());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(true, "Notifications accepted", notifications));
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get notifications by user ID")
     public ResponseEntity<ApiResponse<List<NotificationResponseDTO>>> getNotificationsByUserId(
@@ -36,4 +57,13 @@ public class NotificationController {
                 notificationService.getNotificationsByUserId(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notifications retrieved", notifications));
     }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Stream notifications created since a timestamp as NDJSON")
+    public void exportNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        notificationService.exportNotifications(since, response.getOutputStream());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.travel.notificationservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequestDTO {
+    @NotEmpty(message = "At least one notification is required")
+    @Size(max = 500, message = "At most 500 notifications can be sent per request")
+    private List<@Valid NotificationRequestDTO> notifications;
+}
@@ -2,6 +2,7 @@ package com.travel.notificationservice.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,4 +19,8 @@ public class NotificationRequestDTO {
 
     @NotBlank(message = "Message is required")
     private String message;
+
+    // Optional; notifications repeating a source id already received are answered with the stored one
+    @Size(max = 100, message = "Source ID must be at most 100 characters")
+    private String sourceId;
 }
\ No newline at end of file
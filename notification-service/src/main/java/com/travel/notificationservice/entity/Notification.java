@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_created_at", columnList = "createdAt"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_notifications_source_id", columnNames = "sourceId"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,4 +38,8 @@ public class Notification {
     private LocalDateTime createdAt = LocalDateTime.now();
 
     private LocalDateTime sentAt;
+
+    // Caller's id for the notification, e.g. an outbox row; a repeated id is not stored or sent again
+    @Column(length = 100)
+    private String sourceId;
 }
\ No newline at end of file
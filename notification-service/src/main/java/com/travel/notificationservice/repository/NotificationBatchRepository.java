@@ -0,0 +1,78 @@
+package com.travel.notificationservice.repository;
+
+import com.travel.notificationservice.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// JDBC batch writes for the dispatcher: one round-trip per batch instead of one save per notification
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(user_id, title, message, type, status, created_at, source_id) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (source_id) DO NOTHING";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE notifications SET status = ?, sent_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the notifications actually inserted; ones whose source id is already stored keep a null id
+    public List<Notification> insertAll(List<Notification> notifications) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"id", "source_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification notification = notifications.get(i);
+                        ps.setLong(1, notification.getUserId());
+                        ps.setString(2, notification.getTitle());
+                        ps.setString(3, notification.getMessage());
+                        ps.setString(4, notification.getType().name());
+                        ps.setString(5, notification.getStatus().name());
+                        ps.setTimestamp(6, Timestamp.valueOf(notification.getCreatedAt()));
+                        ps.setString(7, notification.getSourceId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return notifications.size();
+                    }
+                },
+                keyHolder);
+
+        // Skipped rows return no key, so keys are matched to notifications in order by their source id
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Notification> inserted = new ArrayList<>(keys.size());
+        int next = 0;
+        for (Notification notification : notifications) {
+            if (next < keys.size() && Objects.equals(keys.get(next).get("source_id"), notification.getSourceId())) {
+                notification.setId(((Number) keys.get(next++).get("id")).longValue());
+                inserted.add(notification);
+            }
+        }
+        return inserted;
+    }
+
+    public void updateStatuses(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, notifications, notifications.size(), (ps, notification) -> {
+            ps.setString(1, notification.getStatus().name());
+            ps.setTimestamp(2, notification.getSentAt() != null ? Timestamp.valueOf(notification.getSentAt()) : null);
+            ps.setLong(3, notification.getId());
+        });
+    }
+}
@@ -1,11 +1,38 @@
 package com.travel.notificationservice.repository;
 
 import com.travel.notificationservice.entity.Notification;
+import com.travel.notificationservice.entity.NotificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserId(Long userId);
+
+    List<Notification> findBySourceIdIn(Collection<String> sourceIds);
+
+    // Keyset page of notifications left queued by a previous run
+    @Query("SELECT n FROM Notification n WHERE n.status = :status AND n.createdAt < :before AND n.id > :afterId " +
+            "ORDER BY n.id")
+    List<Notification> findQueuedPage(@Param("status") NotificationStatus status, @Param("before") LocalDateTime before,
+                                      @Param("afterId") Long afterId, Pageable page);
+
+    // Forward-only cursor for exports; rows are fetched from the database 500 at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM Notification n WHERE n.createdAt >= :since ORDER BY n.id")
+    Stream<Notification> streamCreatedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.travel.notificationservice.service;
+
+import com.travel.notificationservice.entity.Notification;
+import com.travel.notificationservice.entity.NotificationStatus;
+import com.travel.notificationservice.exception.NotificationQueueFullException;
+import com.travel.notificationservice.repository.NotificationBatchRepository;
+import com.travel.notificationservice.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory queue drained by a fixed pool of senders. Notifications are inserted as
+ * PENDING in one JDBC batch when they are enqueued, so the caller gets their ids back and a crash
+ * loses nothing: PENDING rows left by a previous run are queued again on startup, which makes
+ * delivery at-least-once. Each sender takes up to batch-size notifications, hands them to the
+ * (simulated) provider in one bulk send and writes the resulting SENT/FAILED statuses in a batch.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationBatchRepository batchRepository;
+    private final NotificationRepository notificationRepository;
+    private final BlockingQueue<Notification> queue = new LinkedBlockingQueue<>();
+    // Free queue slots; taken before the insert so a full queue rejects without writing anything
+    private final Semaphore capacity;
+    private final int senders;
+    private final int batchSize;
+    private final long sendLatencyMs;
+
+    private ExecutorService senderPool;
+    private volatile boolean running;
+
+    public NotificationDispatcher(NotificationBatchRepository batchRepository,
+                                  NotificationRepository notificationRepository,
+                                  @Value("${notification.dispatcher.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${notification.dispatcher.senders:4}") int senders,
+                                  @Value("${notification.dispatcher.batch-size:50}") int batchSize,
+                                  @Value("${notification.dispatcher.send-latency-ms:1000}") long sendLatencyMs) {
+        this.batchRepository = batchRepository;
+        this.notificationRepository = notificationRepository;
+        this.capacity = new Semaphore(queueCapacity);
+        this.senders = senders;
+        this.batchSize = batchSize;
+        this.sendLatencyMs = sendLatencyMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        LocalDateTime startedAt = LocalDateTime.now();
+        AtomicInteger threadCount = new AtomicInteger();
+        // One extra thread re-queues what a previous run left PENDING
+        senderPool = Executors.newFixedThreadPool(senders + 1,
+                runnable -> new Thread(runnable, "notification-sender-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < senders; i++) {
+            senderPool.execute(this::drainLoop);
+        }
+        senderPool.execute(() -> recover(startedAt));
+        log.info("Notification dispatcher started with {} senders", senders);
+    }
+
+    public void enqueue(Notification notification) {
+        enqueueAll(List.of(notification));
+    }
+
+    // All or nothing, so a rejected batch can be retried without duplicating part of it. Notifications
+    // whose source id is already stored are neither inserted nor queued and keep a null id
+    public void enqueueAll(List<Notification> notifications) {
+        if (!running || !capacity.tryAcquire(notifications.size())) {
+            throw new NotificationQueueFullException("Notification queue is full, please retry later");
+        }
+        List<Notification> inserted;
+        try {
+            inserted = batchRepository.insertAll(notifications);
+        } catch (RuntimeException e) {
+            capacity.release(notifications.size());
+            throw e;
+        }
+        capacity.release(notifications.size() - inserted.size());
+        queue.addAll(inserted);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Stop accepting new work and let the senders drain what is already queued
+        running = false;
+        senderPool.shutdown();
+        if (!senderPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Notification dispatcher stopped with {} notifications still queued", queue.size());
+            senderPool.shutdownNow();
+        }
+    }
+
+    private void recover(LocalDateTime startedAt) {
+        long afterId = 0;
+        int recovered = 0;
+        try {
+            List<Notification> page;
+            while (running && !(page = notificationRepository.findQueuedPage(NotificationStatus.PENDING, startedAt,
+                    afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+                while (!capacity.tryAcquire(page.size(), 500, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                queue.addAll(page);
+                afterId = page.get(page.size() - 1).getId();
+                recovered += page.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Failed to re-queue pending notifications", e);
+        } finally {
+            if (recovered > 0) {
+                log.info("Re-queued {} notifications left pending by a previous run", recovered);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            List<Notification> batch = new ArrayList<>(batchSize);
+            try {
+                Notification first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                capacity.release(batch.size());
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch batch of {} notifications", batch.size(), e);
+            }
+        }
+    }
+
+    private void dispatch(List<Notification> batch) throws InterruptedException {
+        try {
+            // Simulate one bulk send of the whole batch to the email/SMS provider
+            Thread.sleep(sendLatencyMs);
+            LocalDateTime sentAt = LocalDateTime.now();
+            for (Notification notification : batch) {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setSentAt(sentAt);
+            }
+        } finally {
+            // Anything not sent before an interrupt is recorded as failed
+            batch.stream()
+                    .filter(notification -> notification.getStatus() == NotificationStatus.PENDING)
+                    .forEach(notification -> notification.setStatus(NotificationStatus.FAILED));
+            batchRepository.updateStatuses(batch);
+        }
+        log.info("Dispatched batch of {} notifications", batch.size());
+    }
+}
@@ -1,44 +1,82 @@
 package com.travel.notificationservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travel.notificationservice.dto.NotificationRequestDTO;
 import com.travel.notificationservice.dto.NotificationResponseDTO;
 import com.travel.notificationservice.entity.Notification;
 import com.travel.notificationservice.entity.NotificationStatus;
 import com.travel.notificationservice.entity.NotificationType;
+import com.travel.notificationservice.repository.NotificationBatchRepository;
 import com.travel.notificationservice.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long SIMULATED_SEND_MS = 1000;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository batchRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Value("${notification.dispatcher.enabled:false}")
+    private boolean dispatcherEnabled;
 
-    @Transactional
+    // Not transactional: neither path should hold a connection while the send is simulated
     public NotificationResponseDTO sendNotification(NotificationRequestDTO request) {
         log.info("Sending notification to user: {}", request.getUserId());
 
-        Notification notification = new Notification();
-        notification.setUserId(request.getUserId());
-        notification.setTitle(request.getTitle());
-        notification.setMessage(request.getMessage());
-        notification.setType(NotificationType.EMAIL);
-        notification.setStatus(NotificationStatus.PENDING);
+        Notification notification = newPendingNotification(request);
+
+        if (dispatcherEnabled) {
+            // Map before enqueueing, a sender may pick the notification up immediately
+            NotificationResponseDTO queued = mapToDTO(notification);
+            notificationDispatcher.enqueue(notification);
+            if (notification.getId() == null) {
+                return withStoredDuplicates(List.of(notification), List.of(queued)).get(0);
+            }
+            // The id is assigned by the insert in enqueue and never changes after it
+            queued.setId(notification.getId());
+            log.info("Notification {} queued for user: {}", queued.getId(), request.getUserId());
+            return queued;
+        }
+
+        if (request.getSourceId() != null) {
+            List<Notification> stored = notificationRepository.findBySourceIdIn(List.of(request.getSourceId()));
+            if (!stored.isEmpty()) {
+                log.info("Notification {} was already received", request.getSourceId());
+                return mapToDTO(stored.get(0));
+            }
+        }
 
         Notification saved = notificationRepository.save(notification);
 
         // Simulate sending notification
         try {
             log.info("Simulating email/SMS sending...");
-            Thread.sleep(1000);
+            Thread.sleep(SIMULATED_SEND_MS);
 
             saved.setStatus(NotificationStatus.SENT);
             saved.setSentAt(LocalDateTime.now());
@@ -54,12 +92,112 @@ public class NotificationService {
         return mapToDTO(saved);
     }
 
+    public List<NotificationResponseDTO> sendNotifications(List<NotificationRequestDTO> requests) {
+        List<Notification> notifications = requests.stream()
+                .map(this::newPendingNotification)
+                .collect(Collectors.toList());
+
+        if (!dispatcherEnabled) {
+            sendBatch(batchRepository.insertAll(notifications));
+            return withStoredDuplicates(notifications, notifications.stream()
+                    .map(this::mapToDTO)
+                    .collect(Collectors.toList()));
+        }
+
+        // Map before enqueueing, a sender may pick the notifications up immediately
+        List<NotificationResponseDTO> queued = notifications.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+        notificationDispatcher.enqueueAll(notifications);
+        for (int i = 0; i < notifications.size(); i++) {
+            queued.get(i).setId(notifications.get(i).getId());
+        }
+        log.info("Queued batch of {} notifications", notifications.size());
+        return withStoredDuplicates(notifications, queued);
+    }
+
+    // Without the dispatcher the whole batch is still sent in one simulated bulk send, not one per notification
+    private void sendBatch(List<Notification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Thread.sleep(SIMULATED_SEND_MS);
+            LocalDateTime sentAt = LocalDateTime.now();
+            for (Notification notification : batch) {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setSentAt(sentAt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Failed to send batch of {} notifications", batch.size(), e);
+            batch.forEach(notification -> notification.setStatus(NotificationStatus.FAILED));
+        }
+        batchRepository.updateStatuses(batch);
+        log.info("Sent batch of {} notifications", batch.size());
+    }
+
+    // Notifications skipped because their source id was already stored are answered with the stored one
+    private List<NotificationResponseDTO> withStoredDuplicates(List<Notification> notifications,
+                                                               List<NotificationResponseDTO> responses) {
+        List<String> duplicateIds = notifications.stream()
+                .filter(notification -> notification.getId() == null)
+                .map(Notification::getSourceId)
+                .collect(Collectors.toList());
+        if (duplicateIds.isEmpty()) {
+            return responses;
+        }
+
+        Map<String, Notification> stored = notificationRepository.findBySourceIdIn(duplicateIds).stream()
+                .collect(Collectors.toMap(Notification::getSourceId, Function.identity()));
+        List<NotificationResponseDTO> merged = new ArrayList<>(responses);
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification duplicate = stored.get(notifications.get(i).getSourceId());
+            if (notifications.get(i).getId() == null && duplicate != null) {
+                merged.set(i, mapToDTO(duplicate));
+            }
+        }
+        log.info("Skipped {} notifications that were already received", duplicateIds.size());
+        return merged;
+    }
+
     public List<NotificationResponseDTO> getNotificationsByUserId(Long userId) {
         return notificationRepository.findByUserId(userId).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public long exportNotifications(LocalDateTime since, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Notification> notifications =
+                     notificationRepository.streamCreatedSince(since != null ? since : EXPORT_EPOCH);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            Iterator<Notification> iterator = notifications.iterator();
+            while (iterator.hasNext()) {
+                Notification notification = iterator.next();
+                generator.writeObject(mapToDTO(notification));
+                generator.writeRaw('\n');
+                // Keep the persistence context from growing with the export
+                entityManager.detach(notification);
+                exported++;
+            }
+        }
+        log.info("Exported {} notifications created since {}", exported, since);
+        return exported;
+    }
+
+    private Notification newPendingNotification(NotificationRequestDTO request) {
+        Notification notification = new Notification();
+        notification.setUserId(request.getUserId());
+        notification.setTitle(request.getTitle());
+        notification.setMessage(request.getMessage());
+        notification.setType(NotificationType.EMAIL);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setSourceId(request.getSourceId());
+        return notification;
+    }
+
     private NotificationResponseDTO mapToDTO(Notification notification) {
         return new NotificationResponseDTO(
                 notification.getId(),
@@ -1,9 +1,14 @@
 package com.travel.paymentservice;
 
+import com.travel.common.idempotency.EnableIdempotency;
+import com.travel.paymentservice.exception.PaymentException;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableIdempotency(badRequest = PaymentException.class)
 public class PaymentServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(PaymentServiceApplication.class, args);
@@ -0,0 +1,35 @@
+package com.travel.paymentservice.client;
+
+import com.travel.common.resilience.DownstreamGuard;
+import com.travel.common.resilience.DownstreamUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Throws when the update does not go through, {@link com.travel.paymentservice.exception.DownstreamUnavailableException}
+ * included, so callers can fail fast and retry it later from the payment outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingServiceClient {
+
+    @Qualifier("bookingServiceWebClient")
+    private final WebClient webClient;
+    private final DownstreamGuard downstreamGuard;
+
+    public void updateBookingStatus(Long bookingId, String status) {
+        log.info("Updating booking {} status to {}", bookingId, status);
+
+        downstreamGuard.call("booking-service", () -> webClient.put()
+                .uri("/api/bookings/{id}/status?status={status}", bookingId, status)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block());
+
+        log.info("Booking status updated successfully");
+    }
+}
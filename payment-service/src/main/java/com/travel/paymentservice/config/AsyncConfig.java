@@ -0,0 +1,22 @@
+package com.travel.paymentservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class AsyncConfig {
+
+    // Runs the gateway step of accepted payments once the simulated gateway latency has elapsed
+    @Bean
+    public ThreadPoolTaskScheduler paymentScheduler(@Value("${payment.async.workers:8}") int workers) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(workers);
+        scheduler.setThreadNamePrefix("payment-worker-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -1,13 +1,48 @@
 package com.travel.paymentservice.config;
 
+import com.travel.common.http.DownstreamConnections;
+import com.travel.common.http.DownstreamSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider bookingServicePool(Environment env) {
+        return DownstreamConnections.pool(DownstreamSettings.of(env, "booking-service"));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider callbackPool(Environment env) {
+        return DownstreamConnections.pool(DownstreamSettings.of(env, "callbacks"));
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient bookingServiceWebClient(WebClient.Builder builder,
+                                             Environment env,
+                                             @Qualifier("bookingServicePool") ConnectionProvider pool,
+                                             @Value("${services.booking}") String baseUrl) {
+        return downstreamClient(builder.baseUrl(baseUrl), DownstreamSettings.of(env, "booking-service"), pool);
+    }
+
+    // Payment callbacks go to caller-supplied URLs, so this client has no base URL
+    @Bean
+    public WebClient callbackWebClient(WebClient.Builder builder,
+                                       Environment env,
+                                       @Qualifier("callbackPool") ConnectionProvider pool) {
+        return downstreamClient(builder, DownstreamSettings.of(env, "callbacks"), pool);
+    }
+
+    // The Boot-provided builder records http.client.requests per host and URI template
+    private WebClient downstreamClient(WebClient.Builder builder, DownstreamSettings settings, ConnectionProvider pool) {
+        return builder
+                .clientConnector(DownstreamConnections.connector(settings, pool))
+                .build();
     }
-}
\ No newline at end of file
+}
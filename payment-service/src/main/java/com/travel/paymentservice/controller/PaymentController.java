@@ -1,29 +1,50 @@
 package com.travel.paymentservice.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.travel.common.idempotency.IdempotencyStore;
 import com.travel.paymentservice.dto.ApiResponse;
 import com.travel.paymentservice.dto.PaymentRequestDTO;
 import com.travel.paymentservice.dto.PaymentResponseDTO;
+import com.travel.paymentservice.entity.PaymentStatus;
 import com.travel.paymentservice.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
 @Tag(name = "Payment Service", description = "Payment processing APIs")
 public class PaymentController {
+    private static final TypeReference<ApiResponse<PaymentResponseDTO>> PAYMENT_RESPONSE = new TypeReference<>() {};
+
     private final PaymentService paymentService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping("/process")
-    @Operation(summary = "Process payment")
+    @Operation(summary = "Process payment",
+            description = "Retries with the same Idempotency-Key get the first response back instead of a second charge")
     public ResponseEntity<ApiResponse<PaymentResponseDTO>> processPayment(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody PaymentRequestDTO request) {
-        PaymentResponseDTO payment = paymentService.processPayment(request);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Payment processed", payment));
+        return idempotencyStore.execute(idempotencyKey, request, PAYMENT_RESPONSE, () -> {
+            PaymentResponseDTO payment = paymentService.processPayment(request);
+            if (payment.getStatus() == PaymentStatus.PENDING) {
+                // Async mode: poll GET /api/payments/{id} or wait for the callback
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new ApiResponse<>(true, "Payment accepted", payment));
+            }
+            return ResponseEntity.ok(new ApiResponse<>(true, "Payment processed", payment));
+        });
     }
 
     @GetMapping("/{id}")
@@ -40,4 +61,13 @@ public class PaymentController {
         PaymentResponseDTO payment = paymentService.getPaymentByBookingId(bookingId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Payment retrieved", payment));
     }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Stream payments created since a timestamp as NDJSON")
+    public void exportPayments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        paymentService.exportPayments(since, response.getOutputStream());
+    }
 }
\ No newline at end of file
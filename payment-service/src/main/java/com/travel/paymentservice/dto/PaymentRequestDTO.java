@@ -23,4 +23,7 @@ public class PaymentRequestDTO {
     private String cardNumber;
     private String cvv;
     private String expiryDate;
+
+    // Optional URL that receives the final payment result in async mode
+    private String callbackUrl;
 }
\ No newline at end of file
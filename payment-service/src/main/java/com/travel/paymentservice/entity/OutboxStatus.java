@@ -0,0 +1,7 @@
+package com.travel.paymentservice.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
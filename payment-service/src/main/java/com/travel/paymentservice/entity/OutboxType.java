@@ -0,0 +1,8 @@
+package com.travel.paymentservice.entity;
+
+public enum OutboxType {
+    // POST of the payment's outcome to its callbackUrl
+    CALLBACK,
+    // PUT of CONFIRMED or FAILED to booking-service, depending on the payment's outcome
+    BOOKING_STATUS
+}
@@ -8,7 +8,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = @Index(name = "idx_payments_created_at", columnList = "createdAt"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +33,11 @@ public class Payment {
 
     private String transactionId;
 
+    private String callbackUrl;
+
+    // When a worker claimed the payment to charge it
+    private LocalDateTime claimedAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
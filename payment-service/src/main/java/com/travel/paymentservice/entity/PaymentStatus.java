@@ -2,7 +2,9 @@ package com.travel.paymentservice.entity;
 
 public enum PaymentStatus {
     PENDING,
+    // Claimed by one worker that is charging it; never charged by anyone else
+    PROCESSING,
     SUCCESS,
     FAILED,
     REFUNDED
-}
\ No newline at end of file
+}
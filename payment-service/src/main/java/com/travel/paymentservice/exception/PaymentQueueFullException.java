@@ -0,0 +1,7 @@
+package com.travel.paymentservice.exception;
+
+public class PaymentQueueFullException extends RuntimeException {
+    public PaymentQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,38 @@
 package com.travel.paymentservice.repository;
 
 import com.travel.paymentservice.entity.Payment;
+import com.travel.paymentservice.entity.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByBookingId(Long bookingId);
+    List<Payment> findByStatus(PaymentStatus status);
+    long countByStatusAndClaimedAtBefore(PaymentStatus status, LocalDateTime claimedAt);
+
+    // Only one caller can move a payment out of PENDING, and only that caller may charge it
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.travel.paymentservice.entity.PaymentStatus.PROCESSING, " +
+            "p.claimedAt = :now WHERE p.id = :id AND p.status = com.travel.paymentservice.entity.PaymentStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Forward-only cursor for exports; rows are fetched from the database 500 at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p WHERE p.createdAt >= :since ORDER BY p.id")
+    Stream<Payment> streamCreatedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.travel.paymentservice.service;
+
+import com.travel.paymentservice.entity.Payment;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Simulated payment gateway; the latency is applied by the caller so async mode can wait without a thread
+@Component
+public class PaymentGateway {
+
+    @Getter
+    @Value("${payment.gateway.latency-ms:2000}")
+    private long latencyMs;
+
+    @Value("${payment.gateway.success-rate:0.9}")
+    private double successRate;
+
+    public boolean charge(Payment payment) {
+        return Math.random() < successRate;
+    }
+
+    // Simulated refunds always go through
+    public void refund(Payment payment) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.travel.paymentservice.service;
+
+import com.travel.common.resilience.DownstreamUnavailableException;
+import com.travel.paymentservice.client.BookingServiceClient;
+import com.travel.paymentservice.entity.OutboxMessage;
+import com.travel.paymentservice.entity.OutboxStatus;
+import com.travel.paymentservice.entity.OutboxType;
+import com.travel.paymentservice.entity.Payment;
+import com.travel.paymentservice.entity.PaymentStatus;
+import com.travel.paymentservice.repository.OutboxMessageRepository;
+import com.travel.paymentservice.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the payment outbox. Due messages are claimed with FOR UPDATE SKIP LOCKED and leased by
+ * pushing their next attempt forward, then delivered with bounded concurrency. Failures are retried
+ * with exponential backoff until max-attempts; a 4xx answer is final. Delivery is at-least-once.
+ *
+ * Booking status updates go through booking-service's circuit breaker and bulkhead. While those
+ * reject calls the messages are put back without using up an attempt, so they are sent again once
+ * the breaker is half-open or closed. If booking-service refuses to confirm a paid booking, for
+ * instance because its hold expired first, the payment is refunded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentOutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingServiceClient bookingServiceClient;
+    private final PaymentGateway paymentGateway;
+    @Qualifier("callbackWebClient")
+    private final WebClient callbackWebClient;
+
+    @Value("${payment.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.outbox.concurrency:8}")
+    private int concurrency;
+
+    @Value("${payment.outbox.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    @Value("${payment.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.backoff-ms:1000}")
+    private long backoffMs;
+
+    @Scheduled(fixedDelayString = "${payment.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<OutboxMessage> claimed = claimDueMessages();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Payment> payments = paymentRepository.findAllById(claimed.stream()
+                        .map(OutboxMessage::getPaymentId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        List<Delivery> deliveries = Flux.fromIterable(claimed)
+                .flatMap(message -> deliver(message, payments.get(message.getPaymentId()))
+                        .thenReturn(new Delivery(message, null))
+                        .onErrorResume(error -> Mono.just(new Delivery(message, error))), concurrency)
+                .collectList()
+                .block();
+
+        recordResults(deliveries);
+    }
+
+    private List<OutboxMessage> claimDueMessages() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxRepository.lockDueMessages(now, batchSize);
+            // Lease the claimed rows so no other relay picks them up while they are in flight
+            LocalDateTime leaseUntil = now.plus(Duration.ofMillis(requestTimeoutMs * 2));
+            due.forEach(message -> {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+            });
+            return due;
+        });
+    }
+
+    private Mono<Void> deliver(OutboxMessage message, Payment payment) {
+        if (payment == null) {
+            return Mono.error(new IllegalStateException("Payment " + message.getPaymentId() + " no longer exists"));
+        }
+        return switch (message.getType()) {
+            case CALLBACK -> callbackWebClient.post()
+                    .uri(payment.getCallbackUrl())
+                    .bodyValue(PaymentService.mapToDTO(payment, "Payment " + payment.getStatus()))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .then();
+            // The client blocks inside the guard, so it runs off the relay thread to keep the concurrency
+            case BOOKING_STATUS -> Mono.<Void>fromRunnable(() -> bookingServiceClient.updateBookingStatus(
+                            payment.getBookingId(), payment.getStatus() == PaymentStatus.SUCCESS ? "CONFIRMED" : "FAILED"))
+                    .subscribeOn(Schedulers.boundedElastic());
+        };
+    }
+
+    private void recordResults(List<Delivery> deliveries) {
+        List<Long> sentIds = new ArrayList<>();
+        Map<Long, Throwable> failures = new HashMap<>();
+        for (Delivery delivery : deliveries) {
+            if (delivery.error() == null) {
+                sentIds.add(delivery.message().getId());
+            } else {
+                failures.put(delivery.message().getId(), delivery.error());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            if (!failures.isEmpty()) {
+                outboxRepository.findAllById(failures.keySet()).forEach(message ->
+                        scheduleRetry(message, failures.get(message.getId())));
+            }
+        });
+
+        log.info("Relayed {} payment outbox messages, {} failed", sentIds.size(), failures.size());
+    }
+
+    private void scheduleRetry(OutboxMessage message, Throwable error) {
+        String reason = String.valueOf(error.getMessage());
+        message.setLastError(reason.length() > 500 ? reason.substring(0, 500) : reason);
+        if (error instanceof DownstreamUnavailableException) {
+            // Not sent at all, so it does not count as an attempt
+            message.setAttempts(message.getAttempts() - 1);
+            message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+            return;
+        }
+        boolean rejected = error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+        if (rejected || message.getAttempts() >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            log.error("Giving up on {} for payment {} after {} attempts: {}", message.getType(),
+                    message.getPaymentId(), message.getAttempts(), reason);
+            if (rejected && message.getType() == OutboxType.BOOKING_STATUS) {
+                refundUnconfirmed(message.getPaymentId());
+            }
+            return;
+        }
+        long delay = backoffMs << Math.min(message.getAttempts() - 1, 10);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+    }
+
+    // The booking was not confirmed, so a successful charge for it must not stand
+    private void refundUnconfirmed(Long paymentId) {
+        paymentRepository.findById(paymentId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.SUCCESS)
+                .ifPresent(payment -> {
+                    paymentGateway.refund(payment);
+                    payment.setStatus(PaymentStatus.REFUNDED);
+                    log.warn("Refunded payment {} because booking {} could not be confirmed",
+                            paymentId, payment.getBookingId());
+                });
+    }
+
+    private record Delivery(OutboxMessage message, Throwable error) {
+    }
+}
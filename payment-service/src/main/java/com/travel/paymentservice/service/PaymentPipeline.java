@@ -0,0 +1,160 @@
+package com.travel.paymentservice.service;
+
+import com.travel.paymentservice.entity.OutboxMessage;
+import com.travel.paymentservice.entity.OutboxType;
+import com.travel.paymentservice.entity.Payment;
+import com.travel.paymentservice.entity.PaymentStatus;
+import com.travel.paymentservice.exception.PaymentQueueFullException;
+import com.travel.paymentservice.repository.OutboxMessageRepository;
+import com.travel.paymentservice.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous payment processing. Accepted payments are persisted as PENDING by the request
+ * thread; the gateway step is scheduled once the insert commits and its outcome is written in a
+ * short transaction of its own, so no servlet thread or pooled connection waits on the gateway.
+ *
+ * Before charging, a worker claims the payment by moving it from PENDING to PROCESSING in one
+ * conditional UPDATE; a payment resumed on startup or on another instance while still in flight
+ * loses that race and is never charged twice. The booking status update and the callback are
+ * written to the payment outbox with the outcome and delivered, with retries, by PaymentOutboxRelay.
+ */
+@Component
+@Slf4j
+public class PaymentPipeline {
+
+    // Keeps the gateway step and the booking update in the trace of the request that accepted the payment
+    private static final TaskDecorator TRACE_CONTEXT = new ContextPropagatingTaskDecorator();
+
+    private final PaymentRepository paymentRepository;
+    private final OutboxMessageRepository outboxRepository;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskScheduler paymentScheduler;
+    private final Semaphore inFlight;
+    private final long claimTimeoutMs;
+
+    public PaymentPipeline(PaymentRepository paymentRepository,
+                           OutboxMessageRepository outboxRepository,
+                           PaymentGateway paymentGateway,
+                           TransactionTemplate transactionTemplate,
+                           ThreadPoolTaskScheduler paymentScheduler,
+                           @Value("${payment.async.max-in-flight:1000}") int maxInFlight,
+                           @Value("${payment.async.claim-timeout-ms:60000}") long claimTimeoutMs) {
+        this.paymentRepository = paymentRepository;
+        this.outboxRepository = outboxRepository;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentScheduler = paymentScheduler;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.claimTimeoutMs = claimTimeoutMs;
+    }
+
+    /**
+     * Must be called inside the transaction that persists the payment, before the insert.
+     * The gateway step is scheduled after commit; a rollback gives the slot back.
+     */
+    public void enqueueAfterCommit(Payment payment) {
+        if (!inFlight.tryAcquire()) {
+            throw new PaymentQueueFullException("Too many payments in progress, please retry later");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    schedule(payment.getId(), true);
+                } else {
+                    inFlight.release();
+                }
+            }
+        });
+    }
+
+    // Payments left PENDING by a previous run are picked up again; the claim in complete() keeps a
+    // payment another instance is already charging from being charged here too
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPayments() {
+        List<Payment> pending = paymentRepository.findByStatus(PaymentStatus.PENDING);
+        pending.forEach(payment -> schedule(payment.getId(), inFlight.tryAcquire()));
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} pending payments", pending.size());
+        }
+
+        // A run that stopped between charging and recording the outcome leaves the payment PROCESSING;
+        // whether the gateway charged it is unknown here, so it is not charged again automatically
+        long interrupted = paymentRepository.countByStatusAndClaimedAtBefore(PaymentStatus.PROCESSING,
+                LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs)));
+        if (interrupted > 0) {
+            log.warn("{} payments were left PROCESSING by an interrupted run and need reconciling with the gateway",
+                    interrupted);
+        }
+    }
+
+    private void schedule(Long paymentId, boolean holdsSlot) {
+        Instant runAt = Instant.now().plusMillis(paymentGateway.getLatencyMs());
+        try {
+            paymentScheduler.schedule(TRACE_CONTEXT.decorate(() -> complete(paymentId, holdsSlot)), runAt);
+        } catch (RuntimeException e) {
+            log.error("Failed to schedule payment {}", paymentId, e);
+            if (holdsSlot) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private void complete(Long paymentId, boolean holdsSlot) {
+        try {
+            Boolean claimed = transactionTemplate.execute(status ->
+                    paymentRepository.claim(paymentId, LocalDateTime.now()) == 1);
+            if (!Boolean.TRUE.equals(claimed)) {
+                log.info("Payment {} is no longer pending, skipping", paymentId);
+                return;
+            }
+
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            boolean charged = paymentGateway.charge(payment);
+            Payment completed = transactionTemplate.execute(status -> recordOutcome(payment, charged));
+            log.info("Payment {} for booking {} completed with status {}",
+                    paymentId, completed.getBookingId(), completed.getStatus());
+        } catch (RuntimeException e) {
+            log.error("Failed to complete payment {}", paymentId, e);
+        } finally {
+            if (holdsSlot) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private Payment recordOutcome(Payment payment, boolean charged) {
+        if (charged) {
+            payment.setStatus(PaymentStatus.SUCCESS);
+            payment.setTransactionId("TXN-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase());
+        } else {
+            payment.setStatus(PaymentStatus.FAILED);
+        }
+        Payment saved = paymentRepository.save(payment);
+        outboxRepository.save(new OutboxMessage(payment.getId(), OutboxType.BOOKING_STATUS));
+        if (payment.getCallbackUrl() != null && !payment.getCallbackUrl().isBlank()) {
+            outboxRepository.save(new OutboxMessage(payment.getId(), OutboxType.CALLBACK));
+        }
+        return saved;
+    }
+}
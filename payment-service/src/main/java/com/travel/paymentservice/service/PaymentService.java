@@ -1,32 +1,49 @@
 package com.travel.paymentservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travel.paymentservice.dto.PaymentRequestDTO;
 import com.travel.paymentservice.dto.PaymentResponseDTO;
+import com.travel.paymentservice.entity.OutboxMessage;
+import com.travel.paymentservice.entity.OutboxType;
 import com.travel.paymentservice.entity.Payment;
 import com.travel.paymentservice.entity.PaymentStatus;
 import com.travel.paymentservice.exception.PaymentException;
+import com.travel.paymentservice.repository.OutboxMessageRepository;
 import com.travel.paymentservice.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final PaymentRepository paymentRepository;
-    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PaymentGateway paymentGateway;
+    private final PaymentPipeline paymentPipeline;
+    private final OutboxMessageRepository outboxRepository;
 
-    @Value("${services.booking}")
-    private String bookingServiceUrl;
+    @Value("${payment.async.enabled:false}")
+    private boolean asyncProcessing;
 
-    @Transactional
+    // A declined payment is kept as FAILED together with its booking status update
+    @Transactional(noRollbackFor = PaymentException.class)
     public PaymentResponseDTO processPayment(PaymentRequestDTO request) {
         log.info("Processing payment for booking: {}", request.getBookingId());
 
@@ -36,16 +53,25 @@ public class PaymentService {
         payment.setAmount(request.getAmount());
         payment.setPaymentMethod(request.getPaymentMethod());
         payment.setStatus(PaymentStatus.PENDING);
+        payment.setCallbackUrl(request.getCallbackUrl());
+
+        if (asyncProcessing) {
+            // Only the PENDING insert runs on the request thread; the gateway step runs after commit
+            paymentPipeline.enqueueAfterCommit(payment);
+            Payment accepted = paymentRepository.save(payment);
+            log.info("Payment {} accepted for booking: {}", accepted.getId(), request.getBookingId());
+            return mapToDTO(accepted, "Payment accepted for processing");
+        }
 
         Payment savedPayment = paymentRepository.save(payment);
 
         try {
             // Simulate payment processing
             log.info("Simulating payment gateway processing...");
-            Thread.sleep(2000); // Simulate payment processing delay
+            Thread.sleep(paymentGateway.getLatencyMs()); // Simulate payment processing delay
 
-            // Simulate 90% success rate
-            boolean paymentSuccess = Math.random() < 0.9;
+            // Simulate gateway outcome (90% success rate by default)
+            boolean paymentSuccess = paymentGateway.charge(savedPayment);
 
             if (paymentSuccess) {
                 // Update payment status
@@ -53,8 +79,8 @@ public class PaymentService {
                 savedPayment.setTransactionId("TXN-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase());
                 paymentRepository.save(savedPayment);
 
-                // Update booking status to CONFIRMED via WebClient
-                updateBookingStatus(request.getBookingId(), "CONFIRMED");
+                // Booking is set to CONFIRMED by the outbox relay once this commits
+                outboxRepository.save(new OutboxMessage(savedPayment.getId(), OutboxType.BOOKING_STATUS));
 
                 log.info("Payment successful for booking: {}", request.getBookingId());
                 return mapToDTO(savedPayment, "Payment processed successfully");
@@ -63,8 +89,8 @@ public class PaymentService {
                 savedPayment.setStatus(PaymentStatus.FAILED);
                 paymentRepository.save(savedPayment);
 
-                // Update booking status to FAILED
-                updateBookingStatus(request.getBookingId(), "FAILED");
+                // Booking is set to FAILED by the outbox relay once this commits
+                outboxRepository.save(new OutboxMessage(savedPayment.getId(), OutboxType.BOOKING_STATUS));
 
                 throw new PaymentException("Payment processing failed");
             }
@@ -88,23 +114,26 @@ public class PaymentService {
         return mapToDTO(payment, "Payment retrieved successfully");
     }
 
-    private void updateBookingStatus(Long bookingId, String status) {
-        try {
-            log.info("Updating booking {} status to {}", bookingId, status);
-
-            webClient.put()
-                    .uri(bookingServiceUrl + "/api/bookings/" + bookingId + "/status?status=" + status)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .block();
-
-            log.info("Booking status updated successfully");
-        } catch (Exception e) {
-            log.error("Failed to update booking status", e);
+    @Transactional(readOnly = true)
+    public long exportPayments(LocalDateTime since, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Payment> payments = paymentRepository.streamCreatedSince(since != null ? since : EXPORT_EPOCH);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            Iterator<Payment> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                Payment payment = iterator.next();
+                generator.writeObject(mapToDTO(payment, null));
+                generator.writeRaw('\n');
+                // Keep the persistence context from growing with the export
+                entityManager.detach(payment);
+                exported++;
+            }
         }
+        log.info("Exported {} payments created since {}", exported, since);
+        return exported;
     }
 
-    private PaymentResponseDTO mapToDTO(Payment payment, String message) {
+    static PaymentResponseDTO mapToDTO(Payment payment, String message) {
         return new PaymentResponseDTO(
                 payment.getId(),
                 payment.getBookingId(),
@@ -52,6 +52,14 @@ echo "Building all services..."
 echo "=========================================="
 echo ""
 
+echo "Installing travel-common..."
+(cd travel-common && mvn clean install)
+if [ $? -ne 0 ]; then
+    echo "❌ Failed to install travel-common"
+    exit 1
+fi
+echo ""
+
 SERVICES=("user-service" "flight-service" "hotel-service" "booking-service" "payment-service" "notification-service")
 
 for service in "${SERVICES[@]}"; do
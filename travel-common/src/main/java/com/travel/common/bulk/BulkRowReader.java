@@ -0,0 +1,139 @@
+package com.travel.common.bulk;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a bulk upload one row at a time so the body is never held in memory.
+ * CSV needs a header row naming the DTO properties and is parsed as RFC 4180, so quoted fields may
+ * hold commas, doubled quotes and line breaks; NDJSON has one JSON object per line.
+ * A row that does not parse becomes a row with an error instead of failing the upload.
+ */
+public final class BulkRowReader<T> implements Closeable {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    // line is where the row starts, counting from 1
+    public record Row<T>(long line, T value, String error) {
+    }
+
+    private final BufferedReader reader;
+    // Exactly one of these is set: NDJSON is read line by line, CSV record by record
+    private final ObjectReader lineReader;
+    private final MappingIterator<T> records;
+    private long line;
+    private boolean done;
+
+    private BulkRowReader(BufferedReader reader, ObjectReader lineReader, MappingIterator<T> records) {
+        this.reader = reader;
+        this.lineReader = lineReader;
+        this.records = records;
+    }
+
+    public static <T> BulkRowReader<T> open(InputStream body, MediaType contentType, Class<T> type,
+                                            ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new BulkRowReader<>(reader, objectMapper.readerFor(type), null);
+        }
+        if (!TEXT_CSV.isCompatibleWith(contentType)) {
+            throw new IllegalArgumentException("Unsupported content type for bulk import: " + contentType);
+        }
+        reader.mark(1);
+        if (reader.read() == -1) {
+            throw new IllegalArgumentException("CSV body must start with a header line");
+        }
+        reader.reset();
+        MappingIterator<T> records = CSV_MAPPER.readerFor(type)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+        return new BulkRowReader<>(reader, null, records);
+    }
+
+    // Null once the body is exhausted
+    public Row<T> next() throws IOException {
+        if (done) {
+            return null;
+        }
+        return records != null ? nextRecord() : nextLine();
+    }
+
+    private Row<T> nextRecord() throws IOException {
+        try {
+            // After a row that failed to bind this first skips the rest of that row
+            if (!records.hasNextValue()) {
+                done = true;
+                return null;
+            }
+        } catch (JsonProcessingException e) {
+            return unreadableCsv(e);
+        }
+        line = records.getParser().currentLocation().getLineNr();
+        try {
+            return new Row<>(line, records.nextValue(), null);
+        } catch (JsonParseException e) {
+            return unreadableCsv(e);
+        } catch (JsonProcessingException e) {
+            return new Row<>(line, null, "Unreadable row: " + e.getOriginalMessage());
+        }
+    }
+
+    // The CSV itself is broken, e.g. an unclosed quote, so nothing after this point can be trusted
+    private Row<T> unreadableCsv(JsonProcessingException e) {
+        done = true;
+        return new Row<>(e.getLocation() != null ? e.getLocation().getLineNr() : line,
+                null, "Unreadable CSV: " + e.getOriginalMessage());
+    }
+
+    // Blank lines are skipped
+    private Row<T> nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                done = true;
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return new Row<>(line, lineReader.readValue(text), null);
+        } catch (JsonProcessingException e) {
+            return new Row<>(line, null, "Unreadable row: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (records != null) {
+            records.close();
+        }
+        reader.close();
+    }
+}
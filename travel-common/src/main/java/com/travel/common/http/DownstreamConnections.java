@@ -0,0 +1,42 @@
+package com.travel.common.http;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+// Reactor Netty pool and connector for one downstream, built from its DownstreamSettings
+public final class DownstreamConnections {
+
+    private DownstreamConnections() {
+    }
+
+    // Bounded pool per downstream; metrics(true) exports reactor.netty.connection.provider.* gauges
+    // (active, idle, pending, max) tagged with the pool name
+    public static ConnectionProvider pool(DownstreamSettings settings) {
+        return ConnectionProvider.builder(settings.name())
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(settings.pendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(settings.maxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(settings.maxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(settings.maxIdleTimeMs()))
+                .metrics(true)
+                .build();
+    }
+
+    public static ReactorClientHttpConnector connector(DownstreamSettings settings, ConnectionProvider pool) {
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(settings.responseTimeoutMs()));
+        httpClient = switch (settings.protocol()) {
+            case H2 -> httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+            case H2C -> httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+            case HTTP1 -> httpClient;
+        };
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
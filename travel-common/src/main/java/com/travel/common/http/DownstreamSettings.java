@@ -0,0 +1,43 @@
+package com.travel.common.http;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Connection pool, timeout and protocol settings for one downstream service, read from
+ * http.clients.&lt;name&gt;.* with http.clients.default.* as the fallback for unset keys.
+ */
+public record DownstreamSettings(
+        String name,
+        int maxConnections,
+        int pendingAcquireMaxCount,
+        long pendingAcquireTimeoutMs,
+        long connectTimeoutMs,
+        long responseTimeoutMs,
+        long maxIdleTimeMs,
+        long maxLifeTimeMs,
+        Protocol protocol) {
+
+    public enum Protocol {
+        HTTP1,
+        H2,
+        H2C
+    }
+
+    public static DownstreamSettings of(Environment env, String name) {
+        return new DownstreamSettings(
+                name,
+                property(env, name, "max-connections", Integer.class, 50),
+                property(env, name, "pending-acquire-max-count", Integer.class, 200),
+                property(env, name, "pending-acquire-timeout-ms", Long.class, 1000L),
+                property(env, name, "connect-timeout-ms", Long.class, 1000L),
+                property(env, name, "response-timeout-ms", Long.class, 3000L),
+                property(env, name, "max-idle-time-ms", Long.class, 30000L),
+                property(env, name, "max-life-time-ms", Long.class, 300000L),
+                property(env, name, "protocol", Protocol.class, Protocol.HTTP1));
+    }
+
+    private static <T> T property(Environment env, String name, String key, Class<T> type, T fallback) {
+        T defaultValue = env.getProperty("http.clients.default." + key, type, fallback);
+        return env.getProperty("http.clients." + name + "." + key, type, defaultValue);
+    }
+}
@@ -0,0 +1,24 @@
+package com.travel.common.idempotency;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adds the idempotency_keys table and an {@link IdempotencyStore} bean configured from idempotency.*.
+ * badRequest names the service's exception for a rejected request; it needs a (String message)
+ * constructor. The service must commit whatever it did before throwing it, since the store
+ * replays that 400 to retries instead of running the request again.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(IdempotencyConfiguration.class)
+public @interface EnableIdempotency {
+
+    Class<? extends RuntimeException> badRequest();
+}
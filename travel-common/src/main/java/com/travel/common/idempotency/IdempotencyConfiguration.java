@@ -0,0 +1,54 @@
+package com.travel.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportAware;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
+
+// Imported by @EnableIdempotency; the package is added to entity and repository scanning of the importing service
+@Configuration(proxyBeanMethods = false)
+@AutoConfigurationPackage(basePackageClasses = IdempotencyRecord.class)
+public class IdempotencyConfiguration implements ImportAware {
+
+    private Class<? extends RuntimeException> badRequestType;
+    private Function<String, ? extends RuntimeException> badRequest;
+
+    @Override
+    public void setImportMetadata(AnnotationMetadata importMetadata) {
+        AnnotationAttributes attributes = AnnotationAttributes.fromMap(
+                importMetadata.getAnnotationAttributes(EnableIdempotency.class.getName()));
+        if (attributes == null) {
+            throw new IllegalStateException("IdempotencyConfiguration must be imported through @EnableIdempotency");
+        }
+        Class<? extends RuntimeException> type = attributes.getClass("badRequest");
+        Constructor<? extends RuntimeException> constructor;
+        try {
+            constructor = type.getConstructor(String.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(type.getName() + " needs a public (String message) constructor", e);
+        }
+        badRequestType = type;
+        badRequest = message -> BeanUtils.instantiateClass(constructor, message);
+    }
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository repository,
+                                             ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                                             @Value("${idempotency.cache-size:10000}") long cacheSize,
+                                             @Value("${idempotency.lease-ms:60000}") long leaseMs,
+                                             @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        return new IdempotencyStore(repository, objectMapper, meterRegistry, ttlMs, cacheSize, leaseMs,
+                waitTimeoutMs, badRequestType, badRequest);
+    }
+}
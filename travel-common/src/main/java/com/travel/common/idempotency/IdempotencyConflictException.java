@@ -0,0 +1,7 @@
+package com.travel.common.idempotency;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
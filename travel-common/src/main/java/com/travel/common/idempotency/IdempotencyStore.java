@@ -0,0 +1,265 @@
+package com.travel.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays its response to retries.
+ * Duplicates arriving while the first attempt is still running wait for it: on this instance
+ * through an in-flight future, on other instances by polling the idempotency_keys row.
+ * Completed responses are stored, and so is the service's bad-request exception: the services
+ * commit such outcomes (a declined payment is kept as FAILED) before throwing, so a retry gets
+ * the same 400 instead of running the request again. Any other exception releases the key and
+ * waiting duplicates get the same error, so a later retry runs the request again.
+ * Completed responses are kept in a bounded in-memory cache in front of the table.
+ * Registered by {@link EnableIdempotency}; invalid keys are rejected with the service's own
+ * bad-request exception so they get its usual 400 response.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final TypeReference<String> ERROR_MESSAGE = new TypeReference<>() {
+    };
+
+    private record StoredResponse(String requestHash, int status, Object body) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMs;
+    private final long leaseMs;
+    private final long waitTimeoutMs;
+    private final Class<? extends RuntimeException> badRequestType;
+    private final Function<String, ? extends RuntimeException> badRequest;
+    private final Cache<String, StoredResponse> completed;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            long ttlMs,
+                            long cacheSize,
+                            long leaseMs,
+                            long waitTimeoutMs,
+                            Class<? extends RuntimeException> badRequestType,
+                            Function<String, ? extends RuntimeException> badRequest) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttlMs = ttlMs;
+        this.leaseMs = leaseMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.badRequestType = badRequestType;
+        this.badRequest = badRequest;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    public <T> ResponseEntity<T> execute(String key, Object request, TypeReference<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw badRequest.apply(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> attempt = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, attempt);
+        if (running != null) {
+            return replay(key, await(key, running), requestHash);
+        }
+
+        boolean claimed = false;
+        try {
+            Optional<StoredResponse> existing = claimOrAwait(key, requestHash, bodyType);
+            if (existing.isPresent()) {
+                completed.put(key, existing.get());
+                attempt.complete(existing.get());
+                return replay(key, existing.get(), requestHash);
+            }
+            claimed = true;
+
+            ResponseEntity<T> response = action.get();
+            StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(), response.getBody());
+            save(key, stored);
+            completed.put(key, stored);
+            attempt.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            if (claimed && badRequestType.isInstance(e)) {
+                StoredResponse stored = new StoredResponse(requestHash, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+                save(key, stored);
+                completed.put(key, stored);
+                attempt.complete(stored);
+                throw e;
+            }
+            if (claimed) {
+                release(key);
+            }
+            attempt.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, attempt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    // Empty when this caller now owns the key; otherwise the response of whoever ran it first
+    private <T> Optional<StoredResponse> claimOrAwait(String key, String requestHash, TypeReference<T> bodyType) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            if (claim(key, requestHash, now)) {
+                return Optional.empty();
+            }
+            Optional<IdempotencyRecord> record = repository.findById(key);
+            if (record.isPresent()) {
+                IdempotencyRecord existing = record.get();
+                if (existing.getExpiresAt().isBefore(now)) {
+                    // Replay window over, or the attempt holding the lease died; take the key over
+                    repository.deleteIfExpired(key, now);
+                    continue;
+                }
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new IdempotencyKeyMismatchException(HEADER + " " + key + " was already used with a different request");
+                }
+                if (existing.isCompleted()) {
+                    Object body = existing.getResponseStatus() >= 400
+                            ? read(existing.getResponseBody(), ERROR_MESSAGE)
+                            : read(existing.getResponseBody(), bodyType);
+                    return Optional.of(new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(), body));
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyConflictException("Interrupted while waiting for the request with this " + HEADER);
+            }
+        }
+    }
+
+    private boolean claim(String key, String requestHash, LocalDateTime now) {
+        try {
+            return repository.claim(key, requestHash, now, now.plus(Duration.ofMillis(leaseMs))) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the request with this " + HEADER);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String key, StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(HEADER + " " + key + " was already used with a different request");
+        }
+        log.info("Replaying stored response for {} {}", HEADER, key);
+        if (stored.status() >= 400) {
+            throw badRequest.apply((String) stored.body());
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body((T) stored.body());
+    }
+
+    private void release(String key) {
+        try {
+            repository.release(key);
+        } catch (RuntimeException e) {
+            // The lease runs out on its own; don't hide the original failure
+            log.warn("Could not release {} {}: {}", HEADER, key, e.getMessage());
+        }
+    }
+
+    private void save(String key, StoredResponse stored) {
+        try {
+            repository.complete(key, stored.status(), objectMapper.writeValueAsString(stored.body()),
+                    LocalDateTime.now().plus(Duration.ofMillis(ttlMs)));
+        } catch (RuntimeException | JsonProcessingException e) {
+            // The request itself finished; other instances fall back to the lease expiring
+            log.warn("Could not store response for {} {}: {}", HEADER, key, e.getMessage());
+        }
+    }
+
+    private <T> T read(String body, TypeReference<T> bodyType) {
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key is unreadable", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request for idempotency check", e);
+        }
+    }
+}
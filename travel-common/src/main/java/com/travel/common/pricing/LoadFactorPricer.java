@@ -0,0 +1,46 @@
+package com.travel.common.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Prices stored inventory from the share of it still free and the days left before the date being
+ * priced, using the multipliers in PricingRules. Each quote is a bucket lookup and one multiplication,
+ * cheap enough that nothing is cached; each service wraps it in its own PricingEngine.
+ */
+public final class LoadFactorPricer {
+
+    private record Today(long epochDay, long endMillis) {
+        static Today now() {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            return new Today(date.toEpochDay(), date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    private final PricingRules rules;
+    // LocalDate.now() resolves the zone on every call; the day only changes at midnight
+    private volatile Today today = Today.now();
+
+    public LoadFactorPricer(String loadFactorRules, String leadTimeRules) {
+        this.rules = PricingRules.compile(loadFactorRules, leadTimeRules);
+    }
+
+    // A null date prices on the load factor alone
+    public BigDecimal price(BigDecimal basePrice, int available, int total, LocalDate date) {
+        int daysAhead = date == null ? -1 : (int) Math.max(0, date.toEpochDay() - todayEpochDay());
+        return basePrice.multiply(rules.multiplier(rules.bucket(available, total, daysAhead)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private long todayEpochDay() {
+        Today current = today;
+        if (System.currentTimeMillis() >= current.endMillis()) {
+            current = Today.now();
+            today = current;
+        }
+        return current.epochDay();
+    }
+}
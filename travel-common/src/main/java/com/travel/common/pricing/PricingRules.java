@@ -0,0 +1,98 @@
+package com.travel.common.pricing;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load-factor and lead-time price multipliers compiled into lookup tables. A rule list reads
+ * "threshold:multiplier,..." in ascending thresholds starting at 0: load-factor thresholds are the
+ * share of inventory still free (0.25 = a quarter left), lead-time thresholds are days before the
+ * date being priced. The last rule at or below a value applies. After compiling, finding the bucket
+ * for a request is two array reads and its multiplier is one more.
+ */
+public final class PricingRules {
+
+    private static final int PERMILLE = 1000;
+
+    // Free share in permille -> load bucket
+    private final int[] loadBucketByPermille = new int[PERMILLE + 1];
+    // Days ahead -> lead bucket; further out than the table uses the last bucket
+    private final int[] leadBucketByDay;
+    // Row per load bucket, one column per lead bucket plus a last column for "no date given"
+    private final BigDecimal[] multipliers;
+    private final int columns;
+
+    private PricingRules(List<Rule> loadRules, List<Rule> leadRules) {
+        for (int i = 0; i < loadRules.size(); i++) {
+            int until = i + 1 < loadRules.size() ? loadRules.get(i + 1).threshold() : PERMILLE + 1;
+            for (int permille = loadRules.get(i).threshold(); permille < until; permille++) {
+                loadBucketByPermille[permille] = i;
+            }
+        }
+
+        Rule lastLead = leadRules.get(leadRules.size() - 1);
+        leadBucketByDay = new int[lastLead.threshold() + 1];
+        for (int i = 0; i < leadRules.size(); i++) {
+            int until = i + 1 < leadRules.size() ? leadRules.get(i + 1).threshold() : leadBucketByDay.length;
+            for (int day = leadRules.get(i).threshold(); day < until; day++) {
+                leadBucketByDay[day] = i;
+            }
+        }
+
+        columns = leadRules.size() + 1;
+        multipliers = new BigDecimal[loadRules.size() * columns];
+        for (int load = 0; load < loadRules.size(); load++) {
+            BigDecimal loadMultiplier = loadRules.get(load).multiplier();
+            for (int lead = 0; lead < leadRules.size(); lead++) {
+                multipliers[load * columns + lead] = loadMultiplier.multiply(leadRules.get(lead).multiplier());
+            }
+            multipliers[load * columns + leadRules.size()] = loadMultiplier;
+        }
+    }
+
+    public static PricingRules compile(String loadFactorRules, String leadTimeRules) {
+        return new PricingRules(parse(loadFactorRules, true), parse(leadTimeRules, false));
+    }
+
+    // daysAhead below zero means no date was given, so only the load factor applies
+    public int bucket(int available, int total, int daysAhead) {
+        int free = total <= 0 ? 0 : Math.max(0, Math.min(available, total));
+        int permille = total <= 0 ? 0 : (int) ((long) free * PERMILLE / total);
+        int lead = daysAhead < 0
+                ? columns - 1
+                : leadBucketByDay[Math.min(daysAhead, leadBucketByDay.length - 1)];
+        return loadBucketByPermille[permille] * columns + lead;
+    }
+
+    public BigDecimal multiplier(int bucket) {
+        return multipliers[bucket];
+    }
+
+    private record Rule(int threshold, BigDecimal multiplier) {
+    }
+
+    private static List<Rule> parse(String rules, boolean share) {
+        List<Rule> parsed = new ArrayList<>();
+        for (String entry : rules.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Pricing rule must be threshold:multiplier, got: " + entry);
+            }
+            BigDecimal threshold = new BigDecimal(parts[0].trim());
+            int scaled = share ? threshold.movePointRight(3).intValue() : threshold.intValueExact();
+            BigDecimal multiplier = new BigDecimal(parts[1].trim());
+            if (multiplier.signum() <= 0) {
+                throw new IllegalArgumentException("Pricing multiplier must be positive, got: " + entry);
+            }
+            if (share && (scaled < 0 || scaled > PERMILLE)) {
+                throw new IllegalArgumentException("Load-factor threshold must be between 0 and 1, got: " + entry);
+            }
+            if (parsed.isEmpty() ? scaled != 0 : scaled <= parsed.get(parsed.size() - 1).threshold()) {
+                throw new IllegalArgumentException("Pricing thresholds must start at 0 and increase: " + rules);
+            }
+            parsed.add(new Rule(scaled, multiplier));
+        }
+        return parsed;
+    }
+}
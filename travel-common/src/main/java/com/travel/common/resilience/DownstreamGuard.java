@@ -0,0 +1,64 @@
+package com.travel.common.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls to another service behind that service's bulkhead and circuit breaker,
+ * configured as resilience4j.bulkhead.instances.&lt;downstream&gt; and
+ * resilience4j.circuitbreaker.instances.&lt;downstream&gt;. The semaphore bulkhead caps how many
+ * threads one slow downstream can hold; the breaker opens on failures or slow calls, rejects
+ * while open and lets a few probe calls through when half-open. Rejected calls fail fast with
+ * {@link DownstreamUnavailableException} and are counted in downstream.calls.rejected. Every call
+ * is timed as downstream.calls, tagged with the downstream and an outcome of success, error or
+ * rejected. Registered by DownstreamGuardAutoConfiguration in every service that has resilience4j.
+ */
+@Slf4j
+public class DownstreamGuard {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                           MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T call(String downstream, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(downstream);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(downstream);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+            outcome = "success";
+            return result;
+        } catch (CallNotPermittedException e) {
+            outcome = "rejected";
+            throw reject(downstream, "circuit_open", e);
+        } catch (BulkheadFullException e) {
+            outcome = "rejected";
+            throw reject(downstream, "bulkhead_full", e);
+        } finally {
+            sample.stop(meterRegistry.timer("downstream.calls", "downstream", downstream, "outcome", outcome));
+        }
+    }
+
+    private DownstreamUnavailableException reject(String downstream, String reason, RuntimeException cause) {
+        meterRegistry.counter("downstream.calls.rejected", "downstream", downstream, "reason", reason).increment();
+        log.warn("Rejected call to {}: {}", downstream, reason);
+        return new DownstreamUnavailableException(downstream + " is unavailable, please retry later", cause);
+    }
+}
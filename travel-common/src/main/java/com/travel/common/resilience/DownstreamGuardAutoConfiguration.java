@@ -0,0 +1,28 @@
+package com.travel.common.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+// Services that configure resilience4j bulkheads and circuit breakers get a DownstreamGuard over them
+@AutoConfiguration(afterName = {
+        "io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration",
+        "io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+@ConditionalOnClass({CircuitBreakerRegistry.class, BulkheadRegistry.class})
+public class DownstreamGuardAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({CircuitBreakerRegistry.class, BulkheadRegistry.class, MeterRegistry.class})
+    public DownstreamGuard downstreamGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                           BulkheadRegistry bulkheadRegistry,
+                                           MeterRegistry meterRegistry) {
+        return new DownstreamGuard(circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+}
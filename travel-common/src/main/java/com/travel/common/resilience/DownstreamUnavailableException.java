@@ -0,0 +1,7 @@
+package com.travel.common.resilience;
+
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.travel.common.tracing;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+// Every service with travel-common on its classpath keeps its spans for /actuator/spans
+@AutoConfiguration
+@ConditionalOnClass(SpanExporter.class)
+public class SpanBufferAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanRingBuffer spanRingBuffer(@Value("${tracing.span-buffer.capacity:10000}") int capacity) {
+        return new SpanRingBuffer(capacity);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpansEndpoint spansEndpoint(SpanRingBuffer spanRingBuffer) {
+        return new SpansEndpoint(spanRingBuffer);
+    }
+}
@@ -0,0 +1,73 @@
+package com.travel.common.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the most recently finished spans of this service in a fixed-size ring buffer, overwriting
+ * the oldest, so a slow request can be inspected through /actuator/spans without a tracing
+ * backend. Registered as a SpanExporter, so Boot's batch span processor feeds it off the request
+ * threads.
+ */
+public class SpanRingBuffer implements SpanExporter {
+
+    private final SpanData[] buffer;
+    private long written;
+
+    public SpanRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("tracing.span-buffer.capacity must be at least 1, was " + capacity);
+        }
+        this.buffer = new SpanData[capacity];
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            buffer[(int) (written++ % buffer.length)] = span;
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Newest first
+    public synchronized List<SpanData> recent(int limit) {
+        int size = size();
+        List<SpanData> spans = new ArrayList<>(Math.min(limit, size));
+        for (int i = 1; i <= size && spans.size() < limit; i++) {
+            spans.add(buffer[(int) ((written - i) % buffer.length)]);
+        }
+        return spans;
+    }
+
+    // Newest first; filtered during the scan so only the trace's own spans are copied
+    public synchronized List<SpanData> trace(String traceId) {
+        int size = size();
+        List<SpanData> spans = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            SpanData span = buffer[(int) ((written - i) % buffer.length)];
+            if (span.getTraceId().equals(traceId)) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    private int size() {
+        return (int) Math.min(written, buffer.length);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
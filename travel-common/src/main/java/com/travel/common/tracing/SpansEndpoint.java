@@ -0,0 +1,60 @@
+package com.travel.common.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// GET /actuator/spans?limit= lists the latest spans, GET /actuator/spans/{traceId} one trace oldest first
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final SpanRingBuffer spanRingBuffer;
+
+    public SpansEndpoint(SpanRingBuffer spanRingBuffer) {
+        this.spanRingBuffer = spanRingBuffer;
+    }
+
+    @ReadOperation
+    public List<SpanView> recent(@Nullable Integer limit) {
+        return spanRingBuffer.recent(limit != null ? limit : DEFAULT_LIMIT).stream()
+                .map(SpanView::of)
+                .toList();
+    }
+
+    @ReadOperation
+    public List<SpanView> trace(@Selector String traceId) {
+        return spanRingBuffer.trace(traceId).stream()
+                .map(SpanView::of)
+                .sorted((a, b) -> a.start().compareTo(b.start()))
+                .toList();
+    }
+
+    public record SpanView(String traceId, String spanId, String parentSpanId, String name, String kind,
+                           Instant start, double durationMs, String status, Map<String, String> attributes) {
+
+        static SpanView of(SpanData span) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return new SpanView(
+                    span.getTraceId(),
+                    span.getSpanId(),
+                    span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                    span.getName(),
+                    span.getKind().name(),
+                    Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                    (span.getEndEpochNanos() - span.getStartEpochNanos()) / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    span.getStatus().getStatusCode().name(),
+                    attributes);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.travel.common.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkRowReaderTest {
+
+    private static final String HEADER = "name,city,rooms\n";
+
+    public static class HotelRow {
+        public String name;
+        public String city;
+        public Integer rooms;
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = readCsv(HEADER +
+                "\"Hilton, Colombo\",Colombo,120\n" +
+                "\"The \"\"Grand\"\" Hotel\",Kandy,40\n");
+
+        assertThat(rows).extracting(row -> row.value().name)
+                .containsExactly("Hilton, Colombo", "The \"Grand\" Hotel");
+        assertThat(rows).extracting(row -> row.value().rooms).containsExactly(120, 40);
+        assertThat(rows).extracting(BulkRowReader.Row::line).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void crlfLineEndingsAreAccepted() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = readCsv("name,city,rooms\r\nA,Colombo,1\r\nB,Galle,2\r\n");
+
+        assertThat(rows).extracting(row -> row.value().city).containsExactly("Colombo", "Galle");
+        assertThat(rows).extracting(BulkRowReader.Row::line).containsExactly(2L, 3L);
+        assertThat(rows).extracting(BulkRowReader.Row::error).containsOnlyNulls();
+    }
+
+    @Test
+    void lineBreaksInsideQuotesStayInTheFieldAndLinesKeepCounting() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = readCsv(HEADER +
+                "\"Sea View\nAnnex\",Galle,12\n" +
+                "Hill Top,Ella,8\n");
+
+        assertThat(rows.get(0).value().name).isEqualTo("Sea View\nAnnex");
+        assertThat(rows.get(1).value().name).isEqualTo("Hill Top");
+        assertThat(rows).extracting(BulkRowReader.Row::line).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void raggedRowsFailAloneAndShortRowsLeaveFieldsUnset() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = readCsv(HEADER +
+                "Short,Colombo\n" +
+                "Long,Kandy,5,extra\n" +
+                "Bad rooms,Galle,many\n" +
+                "Fine,Ella,3\n");
+
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0).error()).isNull();
+        assertThat(rows.get(0).value().rooms).isNull();
+        assertThat(rows.get(1).error()).startsWith("Unreadable row");
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(2).error()).startsWith("Unreadable row");
+        assertThat(rows.get(2).line()).isEqualTo(4);
+        assertThat(rows.get(3).value().name).isEqualTo("Fine");
+        assertThat(rows.get(3).line()).isEqualTo(5);
+    }
+
+    @Test
+    void unclosedQuoteEndsTheUploadWithOneError() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = readCsv(HEADER +
+                "Fine,Ella,3\n" +
+                "\"Never closed,Galle,1\n" +
+                "Lost,Kandy,2\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).value().name).isEqualTo("Fine");
+        assertThat(rows.get(1).value()).isNull();
+        assertThat(rows.get(1).error()).startsWith("Unreadable CSV");
+    }
+
+    @Test
+    void emptyAndUnsupportedBodiesAreRejected() {
+        assertThatThrownBy(() -> readCsv("")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("header");
+        assertThatThrownBy(() -> BulkRowReader.open(body("{}"), MediaType.APPLICATION_XML, HotelRow.class,
+                new ObjectMapper())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ndjsonSkipsBlankLinesAndReportsBadOnesByLine() throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = read(
+                "{\"name\":\"A\",\"city\":\"Colombo\",\"rooms\":1}\n" +
+                "\n" +
+                "{\"name\":\n" +
+                "{\"name\":\"B\",\"city\":\"Galle\",\"rooms\":2}\r\n",
+                BulkRowReader.APPLICATION_NDJSON);
+
+        assertThat(rows).extracting(BulkRowReader.Row::line).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).value().name).isEqualTo("A");
+        assertThat(rows.get(1).error()).startsWith("Unreadable row");
+        assertThat(rows.get(2).value().name).isEqualTo("B");
+    }
+
+    private static List<BulkRowReader.Row<HotelRow>> readCsv(String csv) throws IOException {
+        return read(csv, BulkRowReader.TEXT_CSV);
+    }
+
+    private static List<BulkRowReader.Row<HotelRow>> read(String text, MediaType contentType) throws IOException {
+        List<BulkRowReader.Row<HotelRow>> rows = new ArrayList<>();
+        try (BulkRowReader<HotelRow> reader = BulkRowReader.open(body(text), contentType, HotelRow.class,
+                new ObjectMapper())) {
+            for (BulkRowReader.Row<HotelRow> row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -54,9 +54,9 @@ public class UserService {
     }
 
     public boolean validateUser(Long id) {
-        User user = userRepository.findById(id)
+        // Reads only the active column instead of loading the whole User
+        return userRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return user.getActive();
     }
 
     private UserDTO mapToDTO(User user) {